@@ -0,0 +1,46 @@
+package com.eventflow.benchmarks;
+
+import com.eventflow.userservice.common.encryption.EmailEncryptionConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Email column encryption in user-service, paid on every user row written or loaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailEncryptionBenchmark {
+
+    private EmailEncryptionConverter converter;
+    private String encrypted;
+
+    @Setup
+    public void setUp() {
+        converter = new EmailEncryptionConverter();
+        encrypted = converter.convertToDatabaseColumn("alice@example.com");
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return converter.convertToDatabaseColumn("alice@example.com");
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return converter.convertToEntityAttribute(encrypted);
+    }
+}
@@ -0,0 +1,73 @@
+package com.eventflow.benchmarks;
+
+import com.eventflow.eventservice.event.Event;
+import com.eventflow.eventservice.event.EventResponse;
+import com.eventflow.eventservice.event.EventStatus;
+import com.eventflow.eventservice.security.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response mapping behind the organizer's event list, without the database round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventMappingBenchmark {
+
+    @Param({"20", "500"})
+    public int eventCount;
+
+    private List<Event> events;
+
+    @Setup
+    public void setUp() {
+        User organizer = new User(UUID.randomUUID(), "organizer@example.com", "ORGANIZER");
+
+        events = new ArrayList<>(eventCount);
+        ZonedDateTime start = ZonedDateTime.now().plusDays(7);
+        for (int i = 0; i < eventCount; i++) {
+            events.add(Event.builder()
+                    .id(UUID.randomUUID())
+                    .title("Meetup #" + i)
+                    .description("Monthly community meetup with talks and networking")
+                    .startAt(start.plusDays(i))
+                    .endAt(start.plusDays(i).plusHours(3))
+                    .address("Main Street " + i)
+                    .city("Berlin")
+                    .latitude(52.52)
+                    .longitude(13.405)
+                    .capacity(100)
+                    .registeredCount(i % 100)
+                    .status(EventStatus.PLANNED)
+                    .organizerId(organizer.getId())
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<EventResponse> getMyEvents() {
+        return events.stream().map(EventResponse::from).toList();
+    }
+}
@@ -0,0 +1,47 @@
+package com.eventflow.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Shared inputs for the suites: the development JWT secret and context-free stand-ins for
+ * Spring Data repositories.
+ */
+final class Fixtures {
+
+    static final String JWT_SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private Fixtures() {
+    }
+
+    /**
+     * Implements a repository interface with the given handler. Methods the handler does not
+     * answer (returns {@code null} for) fail loudly so a benchmark never measures a silent no-op.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T repository(Class<T> type, BiFunction<String, Object[], Object> handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "toString":
+                    return type.getSimpleName() + " stub";
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    Object result = handler.apply(method.getName(), args != null ? args : new Object[0]);
+                    if (result == null && method.getReturnType() != void.class) {
+                        throw new UnsupportedOperationException(method.getName() + " is not stubbed");
+                    }
+                    return result;
+            }
+        });
+    }
+
+    static <T> List<T> listOf(Object argument) {
+        @SuppressWarnings("unchecked")
+        List<T> list = (List<T>) argument;
+        return list;
+    }
+}
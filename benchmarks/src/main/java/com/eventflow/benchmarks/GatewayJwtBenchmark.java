@@ -0,0 +1,74 @@
+package com.eventflow.benchmarks;
+
+import com.eventflow.gateway.filter.InternalAssertionSigner;
+import com.eventflow.gateway.filter.JwtClaimsCache;
+import com.eventflow.gateway.filter.JwtHeaderFilter;
+import com.eventflow.userservice.security.JwtPrincipalCache;
+import com.eventflow.userservice.security.JwtTokenProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gateway request path: header stripping, JWT verification and identity header injection.
+ * A TTL of zero disables the claims cache, so every request verifies the signature.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GatewayJwtBenchmark {
+
+    @Param({"300", "0"})
+    public long cacheTtlSeconds;
+
+    @Param({"false", "true"})
+    public boolean assertionEnabled;
+
+    private JwtHeaderFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtClaimsCache claimsCache = new JwtClaimsCache(new SimpleMeterRegistry(), 10_000, cacheTtlSeconds);
+        InternalAssertionSigner signer = new InternalAssertionSigner(
+                assertionEnabled, assertionEnabled ? "benchmark-assertion-secret-with-32-bytes" : "");
+        filter = new JwtHeaderFilter(claimsCache, signer, new SimpleMeterRegistry(), Fixtures.JWT_SECRET);
+
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(
+                new JwtPrincipalCache(10_000, 60), Fixtures.JWT_SECRET, 3_600_000L);
+        authorization = "Bearer " + tokenProvider.generateToken(
+                "alice@example.com", "USER", UUID.randomUUID().toString(), "alice@example.com");
+    }
+
+    @Benchmark
+    public void filterAuthenticatedRequest(Blackhole blackhole) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/events")
+                .header("Authorization", authorization)
+                .header("X-User-Email", "spoofed@example.com"));
+        GatewayFilterChain chain = forwarded -> {
+            blackhole.consume(forwarded.getRequest().getHeaders());
+            return Mono.empty();
+        };
+        filter.filter(exchange, chain).block();
+    }
+}
@@ -0,0 +1,45 @@
+package com.eventflow.benchmarks;
+
+import com.eventflow.eventservice.invitation.InvitationTokens;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invitation token generation, which runs once per invited email, and token hashing, which runs
+ * once per created invitation and once per token lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InvitationTokenBenchmark {
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        token = InvitationTokens.generate();
+    }
+
+    @Benchmark
+    public String generateSecureToken() {
+        return InvitationTokens.generate();
+    }
+
+    @Benchmark
+    public byte[] hashToken() {
+        return InvitationTokens.hash(token);
+    }
+}
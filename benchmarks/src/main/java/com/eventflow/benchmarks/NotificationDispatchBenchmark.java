@@ -0,0 +1,111 @@
+package com.eventflow.benchmarks;
+
+import com.eventflow.notificationservice.mail.EmailDeliveryRepository;
+import com.eventflow.notificationservice.mail.EmailService;
+import com.eventflow.notificationservice.notification.Notification;
+import com.eventflow.notificationservice.notification.NotificationDispatcher;
+import com.eventflow.notificationservice.notification.NotificationFanout;
+import com.eventflow.notificationservice.notification.NotificationRepository;
+import com.eventflow.notificationservice.notification.NotificationSseService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-message work of the notification dispatcher: JSON parsing, idempotency lookup, notification
+ * building and local SSE hand-off. Persistence is stubbed, so the numbers isolate the CPU and
+ * allocation cost of the service itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotificationDispatchBenchmark {
+
+    @Param({"EVENT_CREATED", "USER_REGISTERED", "EVENT_UPDATED"})
+    public String eventType;
+
+    /**
+     * Number of registered users in the payload of fan-out events.
+     */
+    @Param({"50"})
+    public int recipients;
+
+    private NotificationDispatcher dispatcher;
+    private NotificationSseService sseService;
+    private String message;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        NotificationRepository repository = Fixtures.repository(NotificationRepository.class, (method, args) ->
+                switch (method) {
+                    case "existsByExternalMessageId" -> false;
+                    case "findExistingExternalMessageIds" -> Set.of();
+                    case "save" -> args[0];
+                    case "saveAll" -> Fixtures.<Notification>listOf(args[0]);
+                    default -> null;
+                });
+
+        sseService = new NotificationSseService(new SimpleMeterRegistry(), 1, 64, 5000);
+        // Fan-out stays disabled (the field default), so frames are delivered in-process
+        NotificationFanout fanout = new NotificationFanout(new RabbitTemplate(), sseService);
+        EmailService emailService = new EmailService(
+                Fixtures.repository(EmailDeliveryRepository.class, (method, args) -> null));
+        dispatcher = new NotificationDispatcher(repository, objectMapper, emailService, fanout,
+                new SimpleMeterRegistry());
+
+        UUID eventId = UUID.randomUUID();
+        UUID organizerId = UUID.randomUUID();
+        ObjectNode payload = objectMapper.createObjectNode()
+                .put("eventId", eventId.toString())
+                .put("organizerId", organizerId.toString())
+                .put("userId", UUID.randomUUID().toString())
+                .put("title", "Spring Meetup")
+                .put("eventTitle", "Spring Meetup");
+        if ("EVENT_UPDATED".equals(eventType)) {
+            var recipientIds = payload.putArray("recipients");
+            for (int i = 0; i < recipients; i++) {
+                recipientIds.add(UUID.randomUUID().toString());
+            }
+        } else if ("USER_REGISTERED".equals(eventType)) {
+            // Registration events without an organizer take the single-recipient path
+            payload.remove("organizerId");
+        }
+
+        ObjectNode envelope = objectMapper.createObjectNode()
+                .put("messageId", UUID.randomUUID().toString())
+                .put("eventType", eventType);
+        envelope.set("payload", payload);
+        message = objectMapper.writeValueAsString(envelope);
+    }
+
+    @TearDown
+    public void tearDown() {
+        sseService.shutdown();
+    }
+
+    @Benchmark
+    public void dispatch() {
+        dispatcher.dispatch(message);
+    }
+}
@@ -0,0 +1,60 @@
+package com.eventflow.benchmarks;
+
+import com.eventflow.eventservice.security.JwtPrincipal;
+import com.eventflow.eventservice.security.JwtPrincipalCache;
+import com.eventflow.eventservice.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuing in user-service and per-request principal resolution in the downstream services.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenProviderBenchmark {
+
+    @Param({"60", "0"})
+    public long cacheTtlSeconds;
+
+    private com.eventflow.userservice.security.JwtTokenProvider issuer;
+    private JwtTokenProvider verifier;
+    private String userId;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        issuer = new com.eventflow.userservice.security.JwtTokenProvider(
+                new com.eventflow.userservice.security.JwtPrincipalCache(10_000, cacheTtlSeconds),
+                Fixtures.JWT_SECRET, 3_600_000L);
+        verifier = new JwtTokenProvider(new JwtPrincipalCache(10_000, cacheTtlSeconds), Fixtures.JWT_SECRET);
+
+        userId = UUID.randomUUID().toString();
+        token = issuer.generateToken("alice@example.com", "USER", userId, "alice@example.com");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return issuer.generateToken("alice@example.com", "USER", userId, "alice@example.com");
+    }
+
+    @Benchmark
+    public JwtPrincipal parsePrincipal() {
+        return verifier.parsePrincipal(token);
+    }
+}
@@ -12,7 +12,9 @@ import { parseToDate, formatDateForDisplay as formatDateUtil } from '../utils/da
 
 function EventsList() {
   const [events, setEvents] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError] = useState('');
 
   const [draftFilters, setDraftFilters] = useState({
@@ -31,16 +33,21 @@ function EventsList() {
     fetchEvents();
   }, [appliedFilters]);
 
+  const buildParams = () => {
+    const params = {};
+    if (appliedFilters.city) params.city = appliedFilters.city;
+    if (appliedFilters.status) params.status = appliedFilters.status;
+    return params;
+  };
+
   const fetchEvents = async () => {
     try {
       setLoading(true);
       setError('');
-      const params = {};
-      if (appliedFilters.city) params.city = appliedFilters.city;
-      if (appliedFilters.status) params.status = appliedFilters.status;
       
-      const response = await eventsAPI.getAll(params);
-      setEvents(response.data);
+      const response = await eventsAPI.getAll(buildParams());
+      setEvents(response.data.content);
+      setNextCursor(response.data.nextCursor);
     } catch (err) {
       console.error('Failed to fetch events:', err);
       setError('Failed to load events. Please try again.');
@@ -49,6 +56,20 @@ function EventsList() {
     }
   };
 
+  const fetchMoreEvents = async () => {
+    try {
+      setLoadingMore(true);
+      const response = await eventsAPI.getAll({ ...buildParams(), cursor: nextCursor });
+      setEvents(prev => [...prev, ...response.data.content]);
+      setNextCursor(response.data.nextCursor);
+    } catch (err) {
+      console.error('Failed to fetch more events:', err);
+      setError('Failed to load more events. Please try again.');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleSearch = () => {
     setAppliedFilters({
       city: draftFilters.city.trim(),
@@ -216,6 +237,14 @@ function EventsList() {
           ))}
         </div>
       )}
+
+      {nextCursor && (
+        <div className="flex justify-center">
+          <Button variant="secondary" onClick={fetchMoreEvents} loading={loadingMore}>
+            Load more
+          </Button>
+        </div>
+      )}
     </div>
   );
 }
@@ -0,0 +1,67 @@
+package com.eventflow.gateway.filter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+/**
+ * Signs the identity headers the gateway injects, so services on the internal network can
+ * trust them with one HMAC check instead of verifying the JWT again.
+ * The assertion is {@code <timestamp millis>.<base64url HMAC-SHA256>} over
+ * {@code userId, username, role, email, timestamp} joined by newlines.
+ * Each service checks it with its own copy of {@code InternalAssertionVerifier}.
+ */
+@Component
+public class InternalAssertionSigner {
+
+    public static final String HEADER = "X-Internal-Assertion";
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final boolean enabled;
+    private final ThreadLocal<Mac> mac;
+
+    public InternalAssertionSigner(
+            @Value("${internal.assertion.enabled:false}") boolean enabled,
+            @Value("${internal.assertion.secret:}") String secret
+    ) {
+        if (enabled && secret.isBlank()) {
+            throw new IllegalStateException("internal.assertion.secret must be set when internal assertions are enabled");
+        }
+        this.enabled = enabled;
+        SecretKeySpec key = enabled ? new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM) : null;
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(ALGORITHM);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Cannot initialise " + ALGORITHM, e);
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String sign(TokenClaims claims) {
+        String timestamp = Long.toString(System.currentTimeMillis());
+        String canonical = String.join("\n",
+                nullToEmpty(claims.userId()),
+                nullToEmpty(claims.username()),
+                nullToEmpty(claims.role()),
+                nullToEmpty(claims.email()),
+                timestamp);
+        byte[] signature = mac.get().doFinal(canonical.getBytes(StandardCharsets.UTF_8));
+        return timestamp + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
@@ -0,0 +1,103 @@
+package com.eventflow.gateway.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of verified token claims keyed by the SHA-256 digest of the token, so raw
+ * tokens are never kept in memory. An entry lives until the token expires or the TTL ends,
+ * whichever comes first.
+ */
+@Component
+public class JwtClaimsCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public JwtClaimsCache(
+            MeterRegistry meterRegistry,
+            @Value("${jwt.cache.max-size:10000}") int maxSize,
+            @Value("${jwt.cache.ttl-seconds:300}") long ttlSeconds
+    ) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.hits = Counter.builder("gateway.jwt.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("gateway.jwt.cache").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("gateway.jwt.cache.evictions").register(meterRegistry);
+        Gauge.builder("gateway.jwt.cache.size", entries, Map::size).register(meterRegistry);
+    }
+
+    public TokenClaims get(String token) {
+        String key = digest(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.claims();
+    }
+
+    public void put(String token, TokenClaims claims, Date expiration) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + ttlMillis;
+        if (expiration != null) {
+            expiresAt = Math.min(expiresAt, expiration.getTime());
+        }
+        if (expiresAt <= now) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        entries.put(digest(token), new Entry(claims, expiresAt));
+    }
+
+    /**
+     * Drops expired entries first; if the cache is still full, removes arbitrary entries
+     * until a tenth of the capacity is free again.
+     */
+    private void evict(long now) {
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.expiresAt() <= now);
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() > maxSize * 9 / 10 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+        evictions.increment(Math.max(0, before - entries.size()));
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Entry(TokenClaims claims, long expiresAt) {
+    }
+}
@@ -1,9 +1,12 @@
 package com.eventflow.gateway.filter;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
@@ -14,34 +17,67 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import javax.crypto.SecretKey;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @SuppressWarnings("NullableProblems")
 public class JwtHeaderFilter implements GlobalFilter, Ordered {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private static final List<String> IDENTITY_HEADERS = List.of(
+            "X-User-Id", "X-Username", "X-User-Role", "X-User-Email", InternalAssertionSigner.HEADER);
+
+    private final JwtClaimsCache claimsCache;
+    private final InternalAssertionSigner assertionSigner;
+    private final JwtParser parser;
+    private final Timer validVerifications;
+    private final Timer invalidVerifications;
+
+    public JwtHeaderFilter(JwtClaimsCache claimsCache, InternalAssertionSigner assertionSigner,
+                           MeterRegistry meterRegistry, @Value("${jwt.secret}") String secret) {
+        this.claimsCache = claimsCache;
+        this.assertionSigner = assertionSigner;
+        this.validVerifications = Timer.builder("gateway.jwt.verification")
+                .tag("outcome", "valid")
+                .register(meterRegistry);
+        this.invalidVerifications = Timer.builder("gateway.jwt.verification")
+                .tag("outcome", "invalid")
+                .register(meterRegistry);
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+    }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        ServerHttpRequest request = exchange.getRequest();
+        // Identity headers are only ever set here, never accepted from clients
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(headers -> IDENTITY_HEADERS.forEach(headers::remove))
+                .build();
+        exchange = exchange.mutate().request(request).build();
         
         String authHeader = request.getHeaders().getFirst("Authorization");
         
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             try {
                 String token = authHeader.substring(7);
-                Claims claims = extractAllClaims(token);
+                TokenClaims claims = resolveClaims(token);
                 
-                String userId = claims.get("userId", String.class);
-                String username = claims.getSubject();
-                String role = claims.get("role", String.class);
+                String userId = claims.userId();
+                String username = claims.username();
+                String role = claims.role();
+                String email = claims.email();
                 
-                ServerHttpRequest modifiedRequest = request.mutate()
+                ServerHttpRequest.Builder builder = request.mutate()
                         .header("X-User-Id", userId != null ? userId : "")
                         .header("X-Username", username != null ? username : "")
                         .header("X-User-Role", role != null ? role : "")
-                        .build();
+                        .header("X-User-Email", email != null ? email : "");
+                if (assertionSigner.isEnabled()) {
+                    builder.header(InternalAssertionSigner.HEADER, assertionSigner.sign(claims));
+                }
+                ServerHttpRequest modifiedRequest = builder.build();
                 
                 return chain.filter(exchange.mutate().request(modifiedRequest).build());
             } catch (Exception e) {
@@ -52,13 +88,34 @@ public class JwtHeaderFilter implements GlobalFilter, Ordered {
         return chain.filter(exchange);
     }
 
-    private Claims extractAllClaims(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Verifies the signature only the first time a token is seen; later requests with the
+     * same token are served from the cache until it expires.
+     */
+    private TokenClaims resolveClaims(String token) {
+        TokenClaims cached = claimsCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        long start = System.nanoTime();
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (RuntimeException e) {
+            invalidVerifications.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        validVerifications.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        TokenClaims resolved = new TokenClaims(
+                claims.get("userId", String.class),
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.get("email", String.class)
+        );
+        claimsCache.put(token, resolved, claims.getExpiration());
+        return resolved;
     }
 
     @Override
@@ -0,0 +1,7 @@
+package com.eventflow.gateway.filter;
+
+/**
+ * The claims the gateway forwards to downstream services as headers.
+ */
+public record TokenClaims(String userId, String username, String role, String email) {
+}
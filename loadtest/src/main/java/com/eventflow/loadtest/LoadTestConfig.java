@@ -0,0 +1,102 @@
+package com.eventflow.loadtest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Harness options, given as {@code --name=value} arguments. Every option has a default sized
+ * for a laptop run of a few minutes.
+ */
+public record LoadTestConfig(
+        Path repositoryRoot,
+        List<String> scenarios,
+        int concurrency,
+        double arrivalRate,
+        int users,
+        int listingEvents,
+        int listingRequests,
+        int invitations,
+        int sseClients,
+        int sseUpdates,
+        String postgresUrl,
+        String postgresUser,
+        String postgresPassword,
+        long stubLatencyMs,
+        boolean admissionGate,
+        boolean virtualThreads,
+        String serviceJvmOptions,
+        Path reportFile
+) {
+
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                options.put(arg.substring(2), "true");
+            } else {
+                options.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+
+        Path root = options.containsKey("repository-root")
+                ? Path.of(options.remove("repository-root"))
+                : locateRepositoryRoot();
+
+        LoadTestConfig config = new LoadTestConfig(
+                root.toAbsolutePath().normalize(),
+                Arrays.asList(options.getOrDefault("scenarios",
+                        "registration-storm,event-listing,invitation-burst,sse-fanout").split(",")),
+                intOption(options, "concurrency", 32),
+                Double.parseDouble(options.getOrDefault("arrival-rate", "0")),
+                intOption(options, "users", 500),
+                intOption(options, "listing-events", 200),
+                intOption(options, "listing-requests", 5000),
+                intOption(options, "invitations", 500),
+                intOption(options, "sse-clients", 200),
+                intOption(options, "sse-updates", 5),
+                options.remove("postgres-url"),
+                options.getOrDefault("postgres-user", "eventflow"),
+                options.getOrDefault("postgres-password", "eventflow123"),
+                Long.parseLong(options.getOrDefault("stub-latency-ms", "0")),
+                Boolean.parseBoolean(options.getOrDefault("admission-gate", "false")),
+                Boolean.parseBoolean(options.getOrDefault("virtual-threads", "false")),
+                options.getOrDefault("service-jvm-options", "-Xmx512m"),
+                options.containsKey("report")
+                        ? Path.of(options.get("report"))
+                        : root.resolve("loadtest/target/loadtest-report.json")
+        );
+        options.keySet().removeAll(List.of("scenarios", "arrival-rate", "postgres-user", "postgres-password", "stub-latency-ms",
+                "admission-gate", "virtual-threads", "service-jvm-options", "report"));
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + options.keySet());
+        }
+        return config;
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        String value = options.remove(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    /**
+     * Walks up from the working directory to the checkout that contains the services.
+     */
+    private static Path locateRepositoryRoot() {
+        Path candidate = Path.of("").toAbsolutePath();
+        while (candidate != null) {
+            if (Files.isDirectory(candidate.resolve("services")) && Files.isDirectory(candidate.resolve("gateway"))) {
+                return candidate;
+            }
+            candidate = candidate.getParent();
+        }
+        throw new IllegalStateException("Cannot find the repository root, pass --repository-root=<path>");
+    }
+}
@@ -0,0 +1,109 @@
+package com.eventflow.loadtest;
+
+import com.eventflow.loadtest.client.GatewayClient;
+import com.eventflow.loadtest.cluster.EventFlowCluster;
+import com.eventflow.loadtest.cluster.Ports;
+import com.eventflow.loadtest.infra.AmqpBrokerStandIn;
+import com.eventflow.loadtest.infra.ExternalApiStubs;
+import com.eventflow.loadtest.infra.PostgresStandIn;
+import com.eventflow.loadtest.infra.SmtpStandIn;
+import com.eventflow.loadtest.report.LoadDriver;
+import com.eventflow.loadtest.report.LoadTestReport;
+import com.eventflow.loadtest.report.ScenarioResult;
+import com.eventflow.loadtest.scenario.BulkInvitationScenario;
+import com.eventflow.loadtest.scenario.EventListingScenario;
+import com.eventflow.loadtest.scenario.InvitationBurstScenario;
+import com.eventflow.loadtest.scenario.RegistrationStormScenario;
+import com.eventflow.loadtest.scenario.Scenario;
+import com.eventflow.loadtest.scenario.ScenarioContext;
+import com.eventflow.loadtest.scenario.SseFanoutScenario;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Boots the gateway and the services against local stand-ins for Postgres, RabbitMQ, SMTP and
+ * the external APIs, runs the selected scenarios through the gateway and reports latency
+ * percentiles and throughput.
+ * <p>
+ * The service jars must be built first ({@code mvn package} in each module).
+ */
+public class LoadTestHarness {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestHarness.class);
+
+    private static final Map<String, Scenario> SCENARIOS = Stream.of(
+            new RegistrationStormScenario(),
+            new EventListingScenario(),
+            new InvitationBurstScenario(),
+            new BulkInvitationScenario(),
+            new SseFanoutScenario()
+    ).collect(Collectors.toMap(Scenario::name, Function.identity(), (a, b) -> a, LinkedHashMap::new));
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        List<Scenario> scenarios = new ArrayList<>();
+        for (String name : config.scenarios()) {
+            Scenario scenario = SCENARIOS.get(name.trim());
+            if (scenario == null) {
+                throw new IllegalArgumentException("Unknown scenario " + name + ", available: " + SCENARIOS.keySet());
+            }
+            scenarios.add(scenario);
+        }
+
+        try (PostgresStandIn postgres = config.postgresUrl() != null
+                     ? PostgresStandIn.local(config.postgresUrl(), config.postgresUser(), config.postgresPassword())
+                     : PostgresStandIn.embedded();
+             AmqpBrokerStandIn broker = new AmqpBrokerStandIn(Ports.free());
+             SmtpStandIn smtp = new SmtpStandIn(Ports.free());
+             ExternalApiStubs externalApis = new ExternalApiStubs(Ports.free(), config.stubLatencyMs());
+             EventFlowCluster cluster = new EventFlowCluster()) {
+
+            postgres.createDatabases(EventFlowCluster.databases());
+            broker.start();
+            smtp.start();
+            externalApis.start();
+            cluster.start(config, postgres, broker, smtp, externalApis);
+
+            GatewayClient client = new GatewayClient(cluster.gatewayUrl());
+            ScenarioContext context = new ScenarioContext(config, client, new LoadDriver(config.concurrency(), config.arrivalRate()),
+                    smtp, externalApis, UUID.randomUUID().toString().substring(0, 6));
+
+            List<ScenarioResult> results = new ArrayList<>();
+            for (Scenario scenario : scenarios) {
+                log.info("Scenario {} starting", scenario.name());
+                results.add(scenario.run(context));
+            }
+
+            LoadTestReport report = new LoadTestReport(results, parameters(config));
+            report.print(System.out);
+            report.write(config.reportFile(), client.objectMapper());
+            log.info("Report written to {}", config.reportFile());
+        }
+    }
+
+    private static Map<String, Object> parameters(LoadTestConfig config) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("concurrency", config.concurrency());
+        parameters.put("users", config.users());
+        parameters.put("listingEvents", config.listingEvents());
+        parameters.put("listingRequests", config.listingRequests());
+        parameters.put("invitations", config.invitations());
+        parameters.put("sseClients", config.sseClients());
+        parameters.put("sseUpdates", config.sseUpdates());
+        parameters.put("stubLatencyMs", config.stubLatencyMs());
+        parameters.put("admissionGate", config.admissionGate());
+        parameters.put("virtualThreads", config.virtualThreads());
+        parameters.put("postgres", config.postgresUrl() != null ? "local" : "embedded");
+        parameters.put("serviceJvmOptions", config.serviceJvmOptions());
+        return parameters;
+    }
+}
@@ -0,0 +1,265 @@
+package com.eventflow.loadtest.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+
+/**
+ * Talks to the stack through the gateway only, like the frontend does.
+ */
+public class GatewayClient {
+
+    private static final String PASSWORD = "loadtest123";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+
+    public GatewayClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public Session signUp(String username, String role) throws IOException, InterruptedException {
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("username", username)
+                .put("email", username + "@loadtest.local")
+                .put("password", PASSWORD)
+                .put("role", role);
+        HttpResponse<String> response = send(post("/api/auth/register", null, body));
+        JsonNode json = expect(response, 201);
+        String token = json.get("token").asText();
+        return new Session(username, token, userIdOf(token));
+    }
+
+    /**
+     * Signs up users in parallel; account creation is the slow part of most scenario setups.
+     */
+    public List<Session> signUpAll(String prefix, int count, String role, int parallelism) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Future<Session>> futures = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String username = prefix + i;
+                futures.add(executor.submit(() -> signUp(username, role)));
+            }
+            List<Session> sessions = new ArrayList<>(count);
+            for (Future<Session> future : futures) {
+                sessions.add(future.get());
+            }
+            return sessions;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public UUID createEvent(Session organizer, String title, String city, int capacity)
+            throws IOException, InterruptedException {
+        ZonedDateTime startAt = ZonedDateTime.now(ZoneOffset.UTC).plusDays(30).truncatedTo(ChronoUnit.HOURS);
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("title", title)
+                .put("description", "Generated by the load-test harness")
+                .put("startAt", startAt.toString())
+                .put("endAt", startAt.plusHours(3).toString())
+                .put("address", title + ", Main Street 1, " + city)
+                .put("city", city)
+                .put("capacity", capacity);
+        JsonNode json = expect(send(post("/api/events", organizer, body)), 201);
+        return UUID.fromString(json.get("id").asText());
+    }
+
+    public int updateEventTitle(Session organizer, UUID eventId, String title) throws IOException, InterruptedException {
+        ObjectNode body = objectMapper.createObjectNode().put("title", title);
+        HttpRequest request = authorized(HttpRequest.newBuilder(uri("/api/events/" + eventId)), organizer)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+        return send(request).statusCode();
+    }
+
+    public int listEvents(Session session, String city) throws IOException, InterruptedException {
+        String path = "/api/events?size=20" + (city != null ? "&city=" + URLEncoder.encode(city, StandardCharsets.UTF_8) : "");
+        HttpRequest request = authorized(HttpRequest.newBuilder(uri(path)), session)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        return send(request).statusCode();
+    }
+
+    public int register(Session attendee, UUID eventId) throws IOException, InterruptedException {
+        return send(post("/api/events/" + eventId + "/registrations", attendee, null)).statusCode();
+    }
+
+    public int invite(Session inviter, UUID eventId, String email) throws IOException, InterruptedException {
+        ObjectNode body = objectMapper.createObjectNode().put("email", email);
+        return send(post("/api/events/" + eventId + "/invitations", inviter, body)).statusCode();
+    }
+
+    public int inviteAll(Session inviter, UUID eventId, List<String> emails) throws IOException, InterruptedException {
+        ObjectNode body = objectMapper.createObjectNode();
+        emails.forEach(body.putArray("emails")::add);
+        return send(post("/api/events/" + eventId + "/invitations/bulk", inviter, body)).statusCode();
+    }
+
+    public JsonNode verifyInvitation(String token) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri("/api/invitations/verify?token=" + URLEncoder.encode(token, StandardCharsets.UTF_8)))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        return expect(send(request), 200);
+    }
+
+    /**
+     * Opens the notification stream of the user. The listener receives the name and data of
+     * every server-sent event; comments (heartbeats) are skipped.
+     */
+    public SseStream openStream(Session session, SseListener listener) {
+        HttpRequest request = authorized(HttpRequest.newBuilder(uri("/api/notifications/stream")), session)
+                .header("Accept", "text/event-stream")
+                .GET()
+                .build();
+        SseLineSubscriber subscriber = new SseLineSubscriber(listener);
+        CompletableFuture<HttpResponse<Void>> response =
+                http.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(subscriber));
+        return () -> {
+            subscriber.cancel();
+            response.cancel(true);
+        };
+    }
+
+    public ObjectMapper objectMapper() {
+        return objectMapper;
+    }
+
+    private HttpRequest post(String path, Session session, JsonNode body) {
+        HttpRequest.Builder builder = authorized(HttpRequest.newBuilder(uri(path)), session)
+                .header("Content-Type", "application/json");
+        return builder.POST(body != null
+                        ? HttpRequest.BodyPublishers.ofString(body.toString())
+                        : HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    /**
+     * The timeout only covers the response headers, so it also applies to streams.
+     */
+    private static HttpRequest.Builder authorized(HttpRequest.Builder builder, Session session) {
+        builder.timeout(REQUEST_TIMEOUT);
+        return session != null ? builder.header("Authorization", "Bearer " + session.token()) : builder;
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private JsonNode expect(HttpResponse<String> response, int status) throws IOException {
+        if (response.statusCode() != status) {
+            throw new IOException(response.request().method() + " " + response.request().uri()
+                    + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    /**
+     * Reads the user id claim without verifying the token; the services do that.
+     */
+    private UUID userIdOf(String token) throws IOException {
+        String payload = token.split("\\.")[1];
+        JsonNode claims = objectMapper.readTree(Base64.getUrlDecoder().decode(payload));
+        return UUID.fromString(claims.get("userId").asText());
+    }
+
+    @FunctionalInterface
+    public interface SseListener {
+        void onEvent(String name, String data);
+    }
+
+    @FunctionalInterface
+    public interface SseStream extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * Assembles server-sent events from the response lines.
+     */
+    private static final class SseLineSubscriber implements Flow.Subscriber<String> {
+
+        private final SseListener listener;
+        private String name = "message";
+        private final StringBuilder data = new StringBuilder();
+        private volatile Flow.Subscription subscription;
+
+        private SseLineSubscriber(SseListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        void cancel() {
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line.isEmpty()) {
+                if (!data.isEmpty()) {
+                    listener.onEvent(name, data.toString());
+                }
+                name = "message";
+                data.setLength(0);
+            } else if (line.startsWith("event:")) {
+                name = line.substring(6).trim();
+            } else if (line.startsWith("data:")) {
+                if (!data.isEmpty()) {
+                    data.append('\n');
+                }
+                data.append(line.substring(5).trim());
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.eventflow.loadtest.client;
+
+import java.util.UUID;
+
+/**
+ * A signed-up user and the token returned by user-service.
+ */
+public record Session(String username, String token, UUID userId) {
+}
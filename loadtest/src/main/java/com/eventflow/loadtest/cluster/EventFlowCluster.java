@@ -0,0 +1,128 @@
+package com.eventflow.loadtest.cluster;
+
+import com.eventflow.loadtest.LoadTestConfig;
+import com.eventflow.loadtest.infra.AmqpBrokerStandIn;
+import com.eventflow.loadtest.infra.ExternalApiStubs;
+import com.eventflow.loadtest.infra.PostgresStandIn;
+import com.eventflow.loadtest.infra.SmtpStandIn;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The gateway and the three services wired to the stand-ins. Every port is picked at random, so
+ * a run never collides with the Docker Compose stack.
+ */
+public class EventFlowCluster implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(5);
+
+    private static final String USERS_DATABASE = PostgresStandIn.DATABASE_PREFIX + "eventflow_users";
+    private static final String EVENTS_DATABASE = PostgresStandIn.DATABASE_PREFIX + "eventflow_events";
+    private static final String NOTIFICATIONS_DATABASE = PostgresStandIn.DATABASE_PREFIX + "eventflow_notifications";
+
+    /**
+     * Turns the DEBUG levels of the development configuration down; logging every request
+     * would dominate the measurements.
+     */
+    private static final List<String> QUIET_LOGGING = List.of(
+            "--logging.level.root=WARN",
+            "--logging.level.com.eventflow=WARN",
+            "--logging.level.org.springframework.web=WARN",
+            "--logging.level.org.springframework.security=WARN",
+            "--logging.level.org.springframework.cloud.gateway=WARN",
+            "--logging.level.org.springframework.web.reactive=WARN",
+            "--logging.level.reactor.netty=WARN"
+    );
+
+    private final List<ServiceProcess> services = new ArrayList<>();
+    private ServiceProcess gateway;
+
+    public void start(LoadTestConfig config, PostgresStandIn postgres, AmqpBrokerStandIn broker,
+                      SmtpStandIn smtp, ExternalApiStubs externalApis) throws Exception {
+        Path root = config.repositoryRoot();
+        Path logDir = Files.createDirectories(root.resolve("loadtest/target/service-logs"));
+
+        int userPort = Ports.free();
+        int eventPort = Ports.free();
+        int notificationPort = Ports.free();
+
+        Map<String, String> common = new HashMap<>();
+        common.put("DB_USER", postgres.user());
+        common.put("DB_PASS", postgres.password());
+        common.put("RABBITMQ_HOST", "127.0.0.1");
+        common.put("RABBITMQ_PORT", String.valueOf(broker.port()));
+        common.put("RABBITMQ_USER", AmqpBrokerStandIn.USER);
+        common.put("RABBITMQ_PASS", AmqpBrokerStandIn.PASSWORD);
+        common.put("VIRTUAL_THREADS_ENABLED", String.valueOf(config.virtualThreads()));
+
+        Map<String, String> userEnv = new HashMap<>(common);
+        userEnv.put("DB_URL", postgres.jdbcUrl(USERS_DATABASE));
+
+        Map<String, String> eventEnv = new HashMap<>(common);
+        eventEnv.put("DB_URL", postgres.jdbcUrl(EVENTS_DATABASE));
+        eventEnv.put("GEOCODING_BASE_URL", externalApis.geocodingBaseUrl());
+        eventEnv.put("WEATHER_BASE_URL", externalApis.weatherBaseUrl());
+        eventEnv.put("USER_SERVICE_URL", "http://127.0.0.1:" + userPort);
+        eventEnv.put("REGISTRATION_ADMISSION_ENABLED", String.valueOf(config.admissionGate()));
+
+        Map<String, String> notificationEnv = new HashMap<>(common);
+        notificationEnv.put("DB_URL", postgres.jdbcUrl(NOTIFICATIONS_DATABASE));
+        notificationEnv.put("MAIL_HOST", "127.0.0.1");
+        notificationEnv.put("MAIL_PORT", String.valueOf(smtp.port()));
+        notificationEnv.put("MAIL_USERNAME", SmtpStandIn.USER);
+        notificationEnv.put("MAIL_PASSWORD", SmtpStandIn.PASSWORD);
+        List<String> notificationArgs = new ArrayList<>(QUIET_LOGGING);
+        notificationArgs.add("--spring.mail.properties.mail.smtp.starttls.enable=false");
+
+        services.add(new ServiceProcess("user-service", root.resolve("services/user-service"),
+                userPort, userEnv, QUIET_LOGGING, logDir));
+        services.add(new ServiceProcess("event-service", root.resolve("services/event-service"),
+                eventPort, eventEnv, QUIET_LOGGING, logDir));
+        services.add(new ServiceProcess("notification-service", root.resolve("services/notification-service"),
+                notificationPort, notificationEnv, notificationArgs, logDir));
+
+        Map<String, String> gatewayEnv = new HashMap<>();
+        gatewayEnv.put("USER_SERVICE_URL", "http://127.0.0.1:" + userPort);
+        gatewayEnv.put("EVENT_SERVICE_URL", "http://127.0.0.1:" + eventPort);
+        gatewayEnv.put("NOTIFICATION_SERVICE_URL", "http://127.0.0.1:" + notificationPort);
+        gateway = new ServiceProcess("api-gateway", root.resolve("gateway"), Ports.free(), gatewayEnv,
+                QUIET_LOGGING, logDir);
+
+        for (ServiceProcess service : services) {
+            service.start(config.serviceJvmOptions());
+        }
+        gateway.start(config.serviceJvmOptions());
+        for (ServiceProcess service : services) {
+            service.awaitHealthy(STARTUP_TIMEOUT);
+        }
+        gateway.awaitHealthy(STARTUP_TIMEOUT);
+    }
+
+    public String gatewayUrl() {
+        return gateway.baseUrl();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        if (gateway != null) {
+            gateway.close();
+        }
+        for (ServiceProcess service : services) {
+            service.close();
+        }
+    }
+
+    /**
+     * One database per service. The names carry {@link PostgresStandIn#DATABASE_PREFIX} so a run
+     * against a local server never touches the databases from docker/init-db.sql.
+     */
+    public static List<String> databases() {
+        return List.of(USERS_DATABASE, EVENTS_DATABASE, NOTIFICATIONS_DATABASE);
+    }
+}
@@ -0,0 +1,61 @@
+package com.eventflow.loadtest.infra;
+
+import org.apache.qpid.server.SystemLauncher;
+import org.apache.qpid.server.model.SystemConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-process AMQP 0-9-1 broker (Qpid Broker-J) with an in-memory store. Speaks the same
+ * protocol as RabbitMQ for everything the services use: direct and fanout exchanges,
+ * server-named queues and publisher confirms.
+ */
+public class AmqpBrokerStandIn implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(AmqpBrokerStandIn.class);
+
+    public static final String USER = "eventflow";
+    public static final String PASSWORD = "eventflow123";
+
+    private final SystemLauncher launcher = new SystemLauncher();
+    private final int port;
+
+    public AmqpBrokerStandIn(int port) {
+        this.port = port;
+    }
+
+    public void start() throws Exception {
+        Path workDir = Files.createTempDirectory("eventflow-amqp");
+
+        Map<String, String> context = new HashMap<>();
+        context.put("qpid.work_dir", workDir.toString());
+        context.put("loadtest.amqp.port", String.valueOf(port));
+        context.put("loadtest.amqp.user", USER);
+        context.put("loadtest.amqp.password", PASSWORD);
+        // Spring AMQP declares anonymous queues with RabbitMQ-only arguments such as x-queue-master-locator
+        context.put("queue.behaviourOnUnknownDeclareArgument", "IGNORE");
+
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(SystemConfig.TYPE, "Memory");
+        attributes.put(SystemConfig.INITIAL_CONFIGURATION_LOCATION,
+                AmqpBrokerStandIn.class.getResource("/amqp-broker.json").toExternalForm());
+        attributes.put(SystemConfig.STARTUP_LOGGED_TO_SYSTEM_OUT, false);
+        attributes.put(SystemConfig.CONTEXT, context);
+        launcher.startup(attributes);
+        log.info("AMQP broker listening on port {}", port);
+    }
+
+    public int port() {
+        return port;
+    }
+
+    @Override
+    public void close() {
+        launcher.shutdown();
+    }
+}
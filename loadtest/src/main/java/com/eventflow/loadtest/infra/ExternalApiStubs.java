@@ -0,0 +1,123 @@
+package com.eventflow.loadtest.infra;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stub Nominatim and Open-Meteo servers. Answers are deterministic per address, and an optional
+ * artificial delay models the latency of the real APIs.
+ */
+public class ExternalApiStubs implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ExternalApiStubs.class);
+
+    private final int port;
+    private final long latencyMs;
+    private final AtomicLong geocodingCalls = new AtomicLong();
+    private final AtomicLong forecastCalls = new AtomicLong();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public ExternalApiStubs(int port, long latencyMs) {
+        this.port = port;
+        this.latencyMs = latencyMs;
+    }
+
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 256);
+        executor = Executors.newFixedThreadPool(64);
+        server.setExecutor(executor);
+        server.createContext("/nominatim/search", this::geocode);
+        server.createContext("/open-meteo/v1/forecast", this::forecast);
+        server.start();
+        log.info("External API stubs listening on port {} with {} ms latency", port, latencyMs);
+    }
+
+    public String geocodingBaseUrl() {
+        return "http://127.0.0.1:" + port + "/nominatim";
+    }
+
+    public String weatherBaseUrl() {
+        return "http://127.0.0.1:" + port + "/open-meteo/v1";
+    }
+
+    public long geocodingCalls() {
+        return geocodingCalls.get();
+    }
+
+    public long forecastCalls() {
+        return forecastCalls.get();
+    }
+
+    private void geocode(HttpExchange exchange) throws IOException {
+        geocodingCalls.incrementAndGet();
+        String address = queryParameter(exchange, "q");
+        int hash = address != null ? address.hashCode() : 0;
+        double latitude = 35 + Math.floorMod(hash, 2000) / 100.0;
+        double longitude = -10 + Math.floorMod(hash >>> 11, 4000) / 100.0;
+        respond(exchange, String.format(Locale.ROOT,
+                "[{\"lat\":\"%.6f\",\"lon\":\"%.6f\",\"display_name\":\"%s\"}]",
+                latitude, longitude, address != null ? address.replace("\"", "") : ""));
+    }
+
+    private void forecast(HttpExchange exchange) throws IOException {
+        forecastCalls.incrementAndGet();
+        respond(exchange, "{\"daily\":{"
+                + "\"temperature_2m_max\":[21.4],"
+                + "\"temperature_2m_min\":[12.8],"
+                + "\"precipitation_sum\":[0.6],"
+                + "\"precipitation_probability_max\":[20],"
+                + "\"wind_speed_10m_max\":[14.2],"
+                + "\"weather_code\":[2]}}");
+    }
+
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String queryParameter(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0 && pair.substring(0, separator).equals(name)) {
+                return URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.eventflow.loadtest.infra;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Postgres for the services: an embedded server unpacked from the zonky binaries, or an
+ * already running local instance. Each service gets its own freshly created database.
+ */
+public class PostgresStandIn implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresStandIn.class);
+
+    /**
+     * Every database the harness creates, and therefore may drop, starts with this prefix.
+     */
+    public static final String DATABASE_PREFIX = "loadtest_";
+
+    private final EmbeddedPostgres embedded;
+    private final String serverUrl;
+    private final String user;
+    private final String password;
+
+    private PostgresStandIn(EmbeddedPostgres embedded, String serverUrl, String user, String password) {
+        this.embedded = embedded;
+        this.serverUrl = serverUrl;
+        this.user = user;
+        this.password = password;
+    }
+
+    public static PostgresStandIn embedded() throws IOException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder()
+                .setServerConfig("max_connections", "300")
+                .setServerConfig("fsync", "off")
+                .setServerConfig("synchronous_commit", "off")
+                .start();
+        log.info("Embedded Postgres listening on port {}", postgres.getPort());
+        return new PostgresStandIn(postgres, "jdbc:postgresql://localhost:" + postgres.getPort() + "/",
+                "postgres", "postgres");
+    }
+
+    /**
+     * Uses a local server, e.g. {@code jdbc:postgresql://localhost:5432/}. The user must be
+     * allowed to create databases.
+     */
+    public static PostgresStandIn local(String serverUrl, String user, String password) {
+        String url = serverUrl.endsWith("/") ? serverUrl : serverUrl + "/";
+        log.info("Using local Postgres at {}", url);
+        return new PostgresStandIn(null, url, user, password);
+    }
+
+    /**
+     * Drops and recreates the databases so every run starts from empty tables. Only names with
+     * {@link #DATABASE_PREFIX} are accepted, so databases the harness did not create are never dropped.
+     */
+    public void createDatabases(List<String> names) throws SQLException {
+        for (String name : names) {
+            if (!name.startsWith(DATABASE_PREFIX)) {
+                throw new IllegalArgumentException("Refusing to recreate database " + name
+                        + ", load test databases must start with " + DATABASE_PREFIX);
+            }
+        }
+        try (Connection connection = DriverManager.getConnection(serverUrl + "postgres", user, password);
+             Statement statement = connection.createStatement()) {
+            for (String name : names) {
+                try (ResultSet existing = statement.executeQuery(
+                        "SELECT 1 FROM pg_database WHERE datname = '" + name + "'")) {
+                    if (existing.next()) {
+                        statement.execute("DROP DATABASE \"" + name + "\" WITH (FORCE)");
+                    }
+                }
+                statement.execute("CREATE DATABASE \"" + name + "\"");
+            }
+        }
+    }
+
+    public String jdbcUrl(String database) {
+        return serverUrl + database;
+    }
+
+    public String user() {
+        return user;
+    }
+
+    public String password() {
+        return password;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (embedded != null) {
+            embedded.close();
+        }
+    }
+}
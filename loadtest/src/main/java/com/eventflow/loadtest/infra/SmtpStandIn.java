@@ -0,0 +1,80 @@
+package com.eventflow.loadtest.infra;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+/**
+ * Fake SMTP server that keeps every message in memory. The notification service always logs in
+ * when a username is configured, so one account is provisioned for it.
+ */
+public class SmtpStandIn implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpStandIn.class);
+
+    public static final String USER = "loadtest";
+    public static final String PASSWORD = "loadtest";
+
+    private final GreenMail greenMail;
+    private final int port;
+
+    public SmtpStandIn(int port) {
+        this.port = port;
+        this.greenMail = new GreenMail(new ServerSetup(port, "127.0.0.1", ServerSetup.PROTOCOL_SMTP));
+        this.greenMail.setUser(USER + "@loadtest.local", USER, PASSWORD);
+    }
+
+    public void start() {
+        greenMail.start();
+        log.info("Fake SMTP server listening on port {}", port);
+    }
+
+    public int port() {
+        return port;
+    }
+
+    public int receivedCount() {
+        return greenMail.getReceivedMessages().length;
+    }
+
+    /**
+     * Body of the first message sent to the address, or null when none arrived.
+     */
+    public String messageBodyTo(String address) throws MessagingException, IOException {
+        for (MimeMessage message : greenMail.getReceivedMessages()) {
+            for (Address recipient : message.getAllRecipients()) {
+                if (recipient.toString().equalsIgnoreCase(address)) {
+                    return message.getContent().toString();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Waits until the mailbox holds at least the given number of messages.
+     *
+     * @return true when they arrived before the timeout
+     */
+    public boolean awaitMessages(int count, long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (receivedCount() < count) {
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+            Thread.sleep(50);
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        greenMail.stop();
+    }
+}
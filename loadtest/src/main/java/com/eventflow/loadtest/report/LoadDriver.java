@@ -0,0 +1,132 @@
+package com.eventflow.loadtest.report;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntPredicate;
+
+/**
+ * Runs a fixed number of requests with a fixed number of concurrent clients and records the
+ * latency of every call.
+ * <p>
+ * Without an arrival rate the clients send back to back (closed model): a slow response delays
+ * the requests behind it, which are then never measured as late, so the tail is understated.
+ * With an arrival rate every request has a scheduled send time at that fixed rate (open model)
+ * and its latency counts from that time, including any wait for a free client.
+ */
+public class LoadDriver {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadDriver.class);
+
+    /**
+     * Highest latency the histograms track before clamping.
+     */
+    public static final long MAX_LATENCY_US = 120_000_000L;
+
+    @FunctionalInterface
+    public interface Call {
+        /**
+         * @return the HTTP status of the response
+         */
+        int execute(int index) throws Exception;
+    }
+
+    private final int concurrency;
+    private final double arrivalRate;
+
+    /**
+     * @param arrivalRate requests per second for the open model, or 0 for the closed model
+     */
+    public LoadDriver(int concurrency, double arrivalRate) {
+        this.concurrency = concurrency;
+        this.arrivalRate = arrivalRate;
+    }
+
+    public static Histogram newHistogram() {
+        return new ConcurrentHistogram(MAX_LATENCY_US, 3);
+    }
+
+    public ScenarioResult run(String name, int operations, Call call, IntPredicate expectedStatus,
+                              List<String> notes) throws Exception {
+        Histogram histogram = newHistogram();
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        LongAdder errors = new LongAdder();
+        AtomicInteger next = new AtomicInteger();
+
+        long intervalNs = arrivalRate > 0 ? (long) (1_000_000_000L / arrivalRate) : 0;
+        if (intervalNs > 0) {
+            log.info("Running {}: {} operations at {} per second with up to {} clients",
+                    name, operations, arrivalRate, concurrency);
+        } else {
+            log.info("Running {}: {} operations with {} clients", name, operations, concurrency);
+        }
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        long started = System.nanoTime();
+        try {
+            List<Future<?>> workers = new ArrayList<>(concurrency);
+            for (int worker = 0; worker < concurrency; worker++) {
+                workers.add(clients.submit(() -> {
+                    int index;
+                    while ((index = next.getAndIncrement()) < operations) {
+                        long callStarted = System.nanoTime();
+                        if (intervalNs > 0) {
+                            long scheduled = started + index * intervalNs;
+                            if (scheduled > callStarted) {
+                                try {
+                                    TimeUnit.NANOSECONDS.sleep(scheduled - callStarted);
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                    return;
+                                }
+                            }
+                            // Measured from the schedule, so time spent waiting for a client counts
+                            callStarted = scheduled;
+                        }
+                        int status;
+                        try {
+                            status = call.execute(index);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        } catch (Exception e) {
+                            status = -1;
+                        }
+                        histogram.recordValue(Math.min(MAX_LATENCY_US, (System.nanoTime() - callStarted) / 1000));
+                        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+                        if (!expectedStatus.test(status)) {
+                            errors.increment();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+        long duration = System.nanoTime() - started;
+
+        if (intervalNs > 0) {
+            notes = new ArrayList<>(notes);
+            notes.add("open model at " + arrivalRate + " requests/s, latency counted from the scheduled send time");
+        }
+        Map<Integer, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+        return new ScenarioResult(name, histogram.getTotalCount(), errors.sum(), duration, histogram,
+                statusCounts, notes);
+    }
+}
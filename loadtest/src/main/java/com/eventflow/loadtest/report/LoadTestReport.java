@@ -0,0 +1,78 @@
+package com.eventflow.loadtest.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Prints the results as a table and writes them as JSON for comparing runs over time.
+ */
+public class LoadTestReport {
+
+    private final List<ScenarioResult> results;
+    private final Map<String, Object> parameters;
+
+    public LoadTestReport(List<ScenarioResult> results, Map<String, Object> parameters) {
+        this.results = results;
+        this.parameters = parameters;
+    }
+
+    public void print(PrintStream out) {
+        out.println();
+        out.printf(Locale.ROOT, "%-20s %10s %8s %12s %10s %10s %10s %10s%n",
+                "scenario", "ops", "errors", "ops/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (ScenarioResult result : results) {
+            out.printf(Locale.ROOT, "%-20s %10d %8d %12.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    result.name(),
+                    result.operations(),
+                    result.errors(),
+                    result.throughputPerSecond(),
+                    result.percentileMs(50),
+                    result.percentileMs(99),
+                    result.percentileMs(99.9),
+                    result.maxMs());
+        }
+        out.println();
+        for (ScenarioResult result : results) {
+            out.println(result.name() + ": statuses " + result.statusCounts());
+            result.notes().forEach(note -> out.println("  " + note));
+        }
+    }
+
+    public void write(Path file, ObjectMapper objectMapper) throws IOException {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("timestamp", Instant.now().toString());
+        root.set("parameters", objectMapper.valueToTree(parameters));
+
+        ArrayNode scenarios = root.putArray("scenarios");
+        for (ScenarioResult result : results) {
+            ObjectNode node = scenarios.addObject()
+                    .put("name", result.name())
+                    .put("operations", result.operations())
+                    .put("errors", result.errors())
+                    .put("durationMs", result.durationNs() / 1_000_000)
+                    .put("throughputPerSecond", result.throughputPerSecond())
+                    .put("p50Ms", result.percentileMs(50))
+                    .put("p99Ms", result.percentileMs(99))
+                    .put("p999Ms", result.percentileMs(99.9))
+                    .put("maxMs", result.maxMs());
+            ObjectNode statuses = node.putObject("statusCounts");
+            result.statusCounts().forEach((status, count) -> statuses.put(String.valueOf(status), count));
+            ArrayNode notes = node.putArray("notes");
+            result.notes().forEach(notes::add);
+        }
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), root);
+    }
+}
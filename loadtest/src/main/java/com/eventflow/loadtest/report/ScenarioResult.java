@@ -0,0 +1,38 @@
+package com.eventflow.loadtest.report;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of one scenario. Latencies are recorded in microseconds.
+ *
+ * @param operations  completed operations, including expected rejections
+ * @param errors      operations that failed or returned an unexpected status
+ * @param durationNs  wall-clock time of the measured phase
+ * @param statusCounts HTTP status (or -1 for I/O errors) to number of responses
+ * @param notes       scenario specific observations, printed below the table
+ */
+public record ScenarioResult(
+        String name,
+        long operations,
+        long errors,
+        long durationNs,
+        Histogram latencyUs,
+        Map<Integer, Long> statusCounts,
+        List<String> notes
+) {
+
+    public double throughputPerSecond() {
+        return durationNs > 0 ? operations * 1_000_000_000.0 / durationNs : 0;
+    }
+
+    public double percentileMs(double percentile) {
+        return latencyUs.getTotalCount() > 0 ? latencyUs.getValueAtPercentile(percentile) / 1000.0 : 0;
+    }
+
+    public double maxMs() {
+        return latencyUs.getMaxValue() / 1000.0;
+    }
+}
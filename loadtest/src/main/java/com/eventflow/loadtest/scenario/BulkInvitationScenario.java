@@ -0,0 +1,67 @@
+package com.eventflow.loadtest.scenario;
+
+import com.eventflow.loadtest.client.Session;
+import com.eventflow.loadtest.report.ScenarioResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The same invitations as {@link InvitationBurstScenario}, sent as attendee lists through the bulk
+ * endpoint. Each operation invites one list; the notes report how long the emails took and
+ * whether the token of an invitee who already has an account resolves to that account.
+ */
+public class BulkInvitationScenario implements Scenario {
+
+    private static final int LIST_SIZE = 100;
+    private static final long MAIL_TIMEOUT_MS = 120_000;
+    private static final Pattern TOKEN = Pattern.compile("token=([0-9a-f]+)");
+
+    @Override
+    public String name() {
+        return "bulk-invitation";
+    }
+
+    @Override
+    public ScenarioResult run(ScenarioContext context) throws Exception {
+        int invitations = context.config().invitations();
+        int lists = (invitations + LIST_SIZE - 1) / LIST_SIZE;
+        Session organizer = context.client().signUp(context.username("bi", "org") + 0, "ORGANIZER");
+        UUID eventId = context.client().createEvent(organizer, "Bulk invitation " + context.runId(), "Hamburg", 1000);
+        String emailPrefix = context.username("bi", "guest");
+        // The first invitee already has an account; the verify page must say so
+        context.client().signUp(emailPrefix + 0, "USER");
+
+        int mailsBefore = context.smtp().receivedCount();
+        List<String> notes = new ArrayList<>();
+        ScenarioResult result = context.driver().run(name(), lists,
+                index -> {
+                    List<String> emails = new ArrayList<>();
+                    for (int i = index * LIST_SIZE; i < Math.min(invitations, (index + 1) * LIST_SIZE); i++) {
+                        emails.add(emailPrefix + i + "@loadtest.local");
+                    }
+                    return context.client().inviteAll(organizer, eventId, emails);
+                },
+                status -> status == 201,
+                notes);
+
+        long burstEnded = System.nanoTime();
+        boolean delivered = context.smtp().awaitMessages(mailsBefore + invitations, MAIL_TIMEOUT_MS);
+        long drainMs = (System.nanoTime() - burstEnded) / 1_000_000;
+        int received = context.smtp().receivedCount() - mailsBefore;
+        notes.add(lists + " lists of up to " + LIST_SIZE + " emails");
+        notes.add(delivered
+                ? "all " + received + " emails delivered " + drainMs + " ms after the last list"
+                : "only " + received + " of " + invitations + " emails delivered within " + MAIL_TIMEOUT_MS + " ms");
+
+        String body = context.smtp().messageBodyTo(emailPrefix + 0 + "@loadtest.local");
+        Matcher token = TOKEN.matcher(body != null ? body : "");
+        notes.add(token.find()
+                ? "invitation of the first invitee verified, userExists=" + context.client().verifyInvitation(token.group(1)).path("userExists")
+                : "no invitation email found for the first invitee");
+        return result;
+    }
+}
@@ -0,0 +1,39 @@
+package com.eventflow.loadtest.scenario;
+
+import com.eventflow.loadtest.client.Session;
+import com.eventflow.loadtest.report.ScenarioResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the first page of the event list, unfiltered and filtered by city, the most frequent
+ * request of the frontend.
+ */
+public class EventListingScenario implements Scenario {
+
+    private static final List<String> CITIES = List.of("Berlin", "Hamburg", "Munich", "Cologne", "Leipzig");
+
+    @Override
+    public String name() {
+        return "event-listing";
+    }
+
+    @Override
+    public ScenarioResult run(ScenarioContext context) throws Exception {
+        Session organizer = context.client().signUp(context.username("el", "org") + 0, "ORGANIZER");
+        long geocodingBefore = context.externalApis().geocodingCalls();
+        for (int i = 0; i < context.config().listingEvents(); i++) {
+            context.client().createEvent(organizer, "Listing " + context.runId() + " #" + i,
+                    CITIES.get(i % CITIES.size()), 100);
+        }
+        long geocodingCalls = context.externalApis().geocodingCalls() - geocodingBefore;
+
+        List<String> notes = new ArrayList<>();
+        notes.add(context.config().listingEvents() + " events seeded, " + geocodingCalls + " geocoding calls");
+        return context.driver().run(name(), context.config().listingRequests(),
+                index -> context.client().listEvents(organizer, index % 2 == 0 ? null : CITIES.get(index % CITIES.size())),
+                status -> status == 200,
+                notes);
+    }
+}
@@ -0,0 +1,47 @@
+package com.eventflow.loadtest.scenario;
+
+import com.eventflow.loadtest.client.Session;
+import com.eventflow.loadtest.report.ScenarioResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * An organizer invites many people to one event in a short burst. The request latency covers
+ * the invitation write; the note reports how long the emails took to reach the SMTP server.
+ */
+public class InvitationBurstScenario implements Scenario {
+
+    private static final long MAIL_TIMEOUT_MS = 120_000;
+
+    @Override
+    public String name() {
+        return "invitation-burst";
+    }
+
+    @Override
+    public ScenarioResult run(ScenarioContext context) throws Exception {
+        int invitations = context.config().invitations();
+        Session organizer = context.client().signUp(context.username("ib", "org") + 0, "ORGANIZER");
+        UUID eventId = context.client().createEvent(organizer, "Invitation burst " + context.runId(), "Hamburg", 1000);
+        String emailPrefix = context.username("ib", "guest");
+
+        int mailsBefore = context.smtp().receivedCount();
+        List<String> notes = new ArrayList<>();
+        ScenarioResult result = context.driver().run(name(), invitations,
+                index -> context.client().invite(organizer, eventId, emailPrefix + index + "@loadtest.local"),
+                status -> status == 201,
+                notes);
+
+        long burstEnded = System.nanoTime();
+        long sent = result.statusCounts().getOrDefault(201, 0L);
+        boolean delivered = context.smtp().awaitMessages(mailsBefore + (int) sent, MAIL_TIMEOUT_MS);
+        long drainMs = (System.nanoTime() - burstEnded) / 1_000_000;
+        int received = context.smtp().receivedCount() - mailsBefore;
+        notes.add(delivered
+                ? "all " + received + " emails delivered " + drainMs + " ms after the burst"
+                : "only " + received + " of " + sent + " emails delivered within " + MAIL_TIMEOUT_MS + " ms");
+        return result;
+    }
+}
@@ -0,0 +1,43 @@
+package com.eventflow.loadtest.scenario;
+
+import com.eventflow.loadtest.client.Session;
+import com.eventflow.loadtest.report.ScenarioResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Every user registers for the same event at once, with twice as many users as places.
+ * Rejections for a full event are expected; what matters is how the contended counter holds up.
+ */
+public class RegistrationStormScenario implements Scenario {
+
+    @Override
+    public String name() {
+        return "registration-storm";
+    }
+
+    @Override
+    public ScenarioResult run(ScenarioContext context) throws Exception {
+        int users = context.config().users();
+        int capacity = Math.max(1, users / 2);
+
+        Session organizer = context.client().signUp(context.username("rs", "org") + 0, "ORGANIZER");
+        UUID eventId = context.client().createEvent(organizer, "Registration storm " + context.runId(), "Berlin", capacity);
+        List<Session> attendees = context.client().signUpAll(context.username("rs", "usr"), users, "USER",
+                context.config().concurrency());
+
+        List<String> notes = new ArrayList<>();
+        ScenarioResult result = context.driver().run(name(), users,
+                index -> context.client().register(attendees.get(index), eventId),
+                status -> status == 201 || status == 400,
+                notes);
+
+        long accepted = result.statusCounts().getOrDefault(201, 0L);
+        notes.add("capacity " + capacity + ", accepted " + accepted
+                + (accepted == capacity ? "" : " (expected exactly the capacity)"));
+        notes.add("admission gate " + (context.config().admissionGate() ? "enabled" : "disabled"));
+        return result;
+    }
+}
@@ -0,0 +1,14 @@
+package com.eventflow.loadtest.scenario;
+
+import com.eventflow.loadtest.report.ScenarioResult;
+
+/**
+ * A scripted workload. Setup such as creating users and events happens inside {@link #run}
+ * but outside the measured phase.
+ */
+public interface Scenario {
+
+    String name();
+
+    ScenarioResult run(ScenarioContext context) throws Exception;
+}
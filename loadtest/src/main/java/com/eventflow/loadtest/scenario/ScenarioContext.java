@@ -0,0 +1,25 @@
+package com.eventflow.loadtest.scenario;
+
+import com.eventflow.loadtest.LoadTestConfig;
+import com.eventflow.loadtest.client.GatewayClient;
+import com.eventflow.loadtest.infra.ExternalApiStubs;
+import com.eventflow.loadtest.infra.SmtpStandIn;
+import com.eventflow.loadtest.report.LoadDriver;
+
+/**
+ * @param runId short random prefix keeping usernames and emails unique across runs against
+ *              the same local database
+ */
+public record ScenarioContext(
+        LoadTestConfig config,
+        GatewayClient client,
+        LoadDriver driver,
+        SmtpStandIn smtp,
+        ExternalApiStubs externalApis,
+        String runId
+) {
+
+    public String username(String scenario, String role) {
+        return runId + "-" + scenario + "-" + role + "-";
+    }
+}
@@ -0,0 +1,137 @@
+package com.eventflow.loadtest.scenario;
+
+import com.eventflow.loadtest.client.GatewayClient;
+import com.eventflow.loadtest.client.Session;
+import com.eventflow.loadtest.report.LoadDriver;
+import com.eventflow.loadtest.report.ScenarioResult;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Every attendee of an event keeps a notification stream open while the organizer updates the
+ * event repeatedly. Latency is measured from the update request to the notification arriving
+ * at each client, through RabbitMQ, the notification listener and the SSE hub.
+ */
+public class SseFanoutScenario implements Scenario {
+
+    private static final long CONNECT_TIMEOUT_MS = 60_000;
+    private static final long DELIVERY_TIMEOUT_MS = 120_000;
+    private static final Pattern UPDATE_NUMBER = Pattern.compile("fan-out update (\\d+)");
+
+    @Override
+    public String name() {
+        return "sse-fanout";
+    }
+
+    @Override
+    public ScenarioResult run(ScenarioContext context) throws Exception {
+        int clients = context.config().sseClients();
+        int updates = context.config().sseUpdates();
+
+        Session organizer = context.client().signUp(context.username("sse", "org") + 0, "ORGANIZER");
+        UUID eventId = context.client().createEvent(organizer, "SSE fan-out " + context.runId(), "Munich", clients);
+        List<Session> attendees = context.client().signUpAll(context.username("sse", "usr"), clients, "USER",
+                context.config().concurrency());
+        for (Session attendee : attendees) {
+            int status = context.client().register(attendee, eventId);
+            if (status != 201) {
+                throw new IllegalStateException("Attendee registration returned " + status);
+            }
+        }
+
+        long[] sentAt = new long[updates];
+        Histogram latency = LoadDriver.newHistogram();
+        CountDownLatch connected = new CountDownLatch(clients);
+        CountDownLatch delivered = new CountDownLatch(clients * updates);
+        LongAdder unexpected = new LongAdder();
+        AtomicLong lastDelivery = new AtomicLong();
+
+        List<GatewayClient.SseStream> streams = new ArrayList<>(clients);
+        for (Session attendee : attendees) {
+            streams.add(context.client().openStream(attendee, (name, data) -> {
+                if ("connect".equals(name)) {
+                    connected.countDown();
+                    return;
+                }
+                if (!"notification".equals(name)) {
+                    return;
+                }
+                int update = updateNumber(context, data);
+                if (update < 0) {
+                    return;
+                }
+                if (update >= updates || sentAt[update] == 0) {
+                    unexpected.increment();
+                    return;
+                }
+                long now = System.nanoTime();
+                latency.recordValue(Math.min(LoadDriver.MAX_LATENCY_US, (now - sentAt[update]) / 1000));
+                lastDelivery.accumulateAndGet(now, Math::max);
+                delivered.countDown();
+            }));
+        }
+
+        try {
+            if (!connected.await(CONNECT_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException((clients - connected.getCount()) + " of " + clients
+                        + " streams connected within " + CONNECT_TIMEOUT_MS + " ms");
+            }
+
+            Map<Integer, Long> statusCounts = new TreeMap<>();
+            long started = System.nanoTime();
+            for (int update = 0; update < updates; update++) {
+                sentAt[update] = System.nanoTime();
+                int status = context.client().updateEventTitle(organizer, eventId,
+                        "SSE fan-out update " + update + " " + context.runId());
+                statusCounts.merge(status, 1L, Long::sum);
+            }
+
+            boolean complete = delivered.await(DELIVERY_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            long expected = (long) clients * updates;
+            long missing = delivered.getCount();
+            long duration = (complete ? lastDelivery.get() : System.nanoTime()) - started;
+
+            List<String> notes = new ArrayList<>();
+            notes.add(clients + " streams x " + updates + " updates, ops are notification deliveries");
+            notes.add(complete
+                    ? "all " + expected + " notifications delivered"
+                    : missing + " of " + expected + " notifications missing after " + DELIVERY_TIMEOUT_MS + " ms");
+            if (unexpected.sum() > 0) {
+                notes.add(unexpected.sum() + " notifications could not be matched to an update");
+            }
+            return new ScenarioResult(name(), expected - missing, missing + unexpected.sum(), duration,
+                    latency, statusCounts, notes);
+        } finally {
+            streams.forEach(GatewayClient.SseStream::close);
+        }
+    }
+
+    /**
+     * Returns the update a notification belongs to, or -1 for other notifications such as the
+     * registration confirmations.
+     */
+    private static int updateNumber(ScenarioContext context, String data) {
+        try {
+            JsonNode notification = context.client().objectMapper().readTree(data);
+            if (!"EVENT_UPDATED".equals(notification.path("type").asText())) {
+                return -1;
+            }
+            Matcher matcher = UPDATE_NUMBER.matcher(notification.path("message").asText());
+            return matcher.find() ? Integer.parseInt(matcher.group(1)) : Integer.MAX_VALUE;
+        } catch (Exception e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.eventflow.eventservice.common.config;
+
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One non-blocking HTTP connector for all third-party integrations, so they share a bounded
+ * connection pool and the same timeouts instead of each building its own client.
+ */
+@Configuration
+public class IntegrationClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider integrationConnectionProvider(
+            @Value("${integration.http.max-connections:50}") int maxConnections,
+            @Value("${integration.http.pending-acquire-timeout-ms:2000}") long pendingAcquireTimeoutMs,
+            @Value("${integration.http.max-idle-ms:30000}") long maxIdleMs
+    ) {
+        return ConnectionProvider.builder("integration")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleMs))
+                .build();
+    }
+
+    @Bean
+    public ReactorClientHttpConnector integrationHttpConnector(
+            ConnectionProvider integrationConnectionProvider,
+            @Value("${integration.http.timeout-ms:5000}") int timeoutMs
+    ) {
+        return new ReactorClientHttpConnector(
+                HttpClient.create(integrationConnectionProvider)
+                        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, timeoutMs)
+                        .responseTimeout(Duration.ofMillis(timeoutMs))
+                        .doOnConnected(conn -> conn
+                                .addHandlerLast(new ReadTimeoutHandler(timeoutMs, TimeUnit.MILLISECONDS))
+                                .addHandlerLast(new WriteTimeoutHandler(timeoutMs, TimeUnit.MILLISECONDS))));
+    }
+}
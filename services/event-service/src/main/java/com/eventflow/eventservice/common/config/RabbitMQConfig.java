@@ -18,6 +18,11 @@ public class RabbitMQConfig {
     public static final String EVENT_CREATED_KEY = "event.created";
     public static final String EVENT_UPDATED_KEY = "event.updated";
     public static final String EVENT_DELETED_KEY = "event.deleted";
+    public static final String EVENT_LOCATION_RESOLVED_KEY = "event.location.resolved";
+    /**
+     * Not bound by any service yet, see {@link com.eventflow.eventservice.common.events.EventsFinished}.
+     */
+    public static final String EVENTS_FINISHED_KEY = "event.finished";
     public static final String REGISTRATION_CREATED_KEY = "registration.created";
     public static final String REGISTRATION_DELETED_KEY = "registration.deleted";
     public static final String INVITATION_REQUESTED_KEY = "invitation.requested";
@@ -0,0 +1,26 @@
+package com.eventflow.eventservice.common.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Coordinates found for an event's address by the background geocoding worker.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventLocationResolved implements DomainEvent {
+    private UUID eventId;
+    private String title;
+    private UUID organizerId;
+    private Double latitude;
+    private Double longitude;
+
+    @Override
+    public String getEventType() {
+        return "EVENT_LOCATION_RESOLVED";
+    }
+}
@@ -0,0 +1,35 @@
+package com.eventflow.eventservice.common.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Events that ended and were moved to FINISHED, published once per scheduler chunk.
+ * <p>
+ * Nothing consumes {@code event.finished} yet and no queue is bound to it, so the broker drops
+ * these messages on purpose. Finishing an event notifies nobody; the message is there for a
+ * future consumer that needs the status change, which only has to bind a queue to the key.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventsFinished implements DomainEvent {
+    private List<UUID> eventIds;
+
+    /**
+     * Covers several events, see {@link #getEventIds()}.
+     */
+    @Override
+    public UUID getEventId() {
+        return null;
+    }
+
+    @Override
+    public String getEventType() {
+        return "EVENTS_FINISHED";
+    }
+}
@@ -1,12 +1,19 @@
 package com.eventflow.eventservice.common.events;
 
+import com.eventflow.eventservice.common.outbox.OutboxMessage;
+import com.eventflow.eventservice.common.outbox.OutboxMessageRepository;
+import com.eventflow.eventservice.common.outbox.OutboxRelay;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.ZonedDateTime;
 import java.util.HashMap;
@@ -20,33 +27,60 @@ public class RabbitMQDomainEventPublisher implements DomainEventPublisher {
 
     private static final Logger log = LoggerFactory.getLogger(RabbitMQDomainEventPublisher.class);
 
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxMessageRepository outboxMessageRepository;
     private final ObjectMapper objectMapper;
-    
-    private static final String EXCHANGE = "eventflow.exchange";
+    private final MeterRegistry meterRegistry;
 
+    /**
+     * Stores the event in the outbox as part of the caller's transaction.
+     * {@link OutboxRelay} sends it to RabbitMQ once the transaction has committed.
+     */
     @Override
+    @Transactional
     public void publish(DomainEvent event) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
         try {
+            UUID messageId = UUID.randomUUID();
             String routingKey = mapToRoutingKey(event.getEventType());
             
             // Create message payload with metadata
             Map<String, Object> message = new HashMap<>();
-            message.put("messageId", UUID.randomUUID().toString());
+            message.put("messageId", messageId.toString());
             message.put("eventType", event.getEventType());
             message.put("occurredAt", ZonedDateTime.now().toString());
             message.put("payload", event);
             
             String jsonMessage = objectMapper.writeValueAsString(message);
             
-            rabbitTemplate.convertAndSend(EXCHANGE, routingKey, jsonMessage);
+            outboxMessageRepository.save(OutboxMessage.builder()
+                    .id(messageId)
+                    .eventType(event.getEventType())
+                    .routingKey(routingKey)
+                    .payload(jsonMessage)
+                    .build());
             
-            log.info("Published event {} with routing key {} to RabbitMQ", 
+            log.info("Queued event {} with routing key {} in the outbox", 
                     event.getEventType(), routingKey);
             
-        } catch (Exception e) {
-            log.error("Failed to publish event {} to RabbitMQ", event.getEventType(), e);
-            throw new RuntimeException("Failed to publish event to RabbitMQ", e);
+        } catch (JsonProcessingException e) {
+            outcome = "failure";
+            log.error("Failed to serialize event {}", event.getEventType(), e);
+            throw new RuntimeException("Failed to serialize domain event", e);
+        } catch (RuntimeException e) {
+            outcome = "failure";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("event.publish")
+                    .tag("event.type", event.getEventType())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+            if ("failure".equals(outcome)) {
+                Counter.builder("event.publish.failures")
+                        .tag("event.type", event.getEventType())
+                        .register(meterRegistry)
+                        .increment();
+            }
         }
     }
     
@@ -55,6 +89,8 @@ public class RabbitMQDomainEventPublisher implements DomainEventPublisher {
             case "EVENT_CREATED" -> "event.created";
             case "EVENT_UPDATED" -> "event.updated";
             case "EVENT_DELETED" -> "event.deleted";
+            case "EVENT_LOCATION_RESOLVED" -> "event.location.resolved";
+            case "EVENTS_FINISHED" -> "event.finished";
             case "USER_REGISTERED" -> "registration.created";
             case "USER_UNREGISTERED" -> "registration.deleted";
             case "INVITATION_REQUESTED" -> "invitation.requested";
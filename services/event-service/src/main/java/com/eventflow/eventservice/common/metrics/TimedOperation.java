@@ -0,0 +1,18 @@
+package com.eventflow.eventservice.common.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Times a service operation as {@code event.operations}; see {@link OperationMetricsAspect}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TimedOperation {
+
+    String component();
+
+    String operation();
+}
@@ -0,0 +1,19 @@
+package com.eventflow.eventservice.common.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, UUID> {
+
+    /**
+     * Locks the oldest pending messages. Rows locked by another relay instance are skipped.
+     */
+    @Query(value = "SELECT * FROM outbox_messages ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<OutboxMessage> lockNextBatch(int limit);
+}
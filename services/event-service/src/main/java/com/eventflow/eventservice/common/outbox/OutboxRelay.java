@@ -0,0 +1,78 @@
+package com.eventflow.eventservice.common.outbox;
+
+import com.eventflow.eventservice.common.config.RabbitMQConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Drains the outbox to RabbitMQ. A batch is sent on one channel without waiting per message,
+ * then a single publisher-confirm wait covers the whole batch before the rows are deleted.
+ * Delivery is at-least-once; consumers deduplicate on the message id.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private Timer sendTimer;
+    private Counter relayed;
+    private Counter failures;
+
+    @Value("${outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${outbox.relay.confirm-timeout-ms:5000}")
+    private long confirmTimeoutMs;
+
+    @PostConstruct
+    void initMetrics() {
+        sendTimer = Timer.builder("event.outbox.send")
+                .description("Time to send one outbox batch and receive its publisher confirms")
+                .register(meterRegistry);
+        relayed = Counter.builder("event.outbox.relayed").register(meterRegistry);
+        failures = Counter.builder("event.outbox.failures").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.delay:200}")
+    @Transactional
+    public void relay() {
+        List<OutboxMessage> batch = outboxMessageRepository.lockNextBatch(batchSize);
+        if (batch.isEmpty()) return;
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            rabbitTemplate.invoke(operations -> {
+                batch.forEach(message -> operations.convertAndSend(
+                        RabbitMQConfig.EXCHANGE, message.getRoutingKey(), message.getPayload()));
+                operations.waitForConfirmsOrDie(confirmTimeoutMs);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            failures.increment();
+            throw e;
+        } finally {
+            sample.stop(sendTimer);
+        }
+
+        outboxMessageRepository.deleteAllByIdInBatch(batch.stream().map(OutboxMessage::getId).toList());
+        relayed.increment(batch.size());
+        log.info("Relayed {} outbox messages to RabbitMQ", batch.size());
+    }
+}
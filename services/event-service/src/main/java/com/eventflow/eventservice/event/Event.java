@@ -42,9 +42,25 @@ public class Event {
 
     private Double longitude;
 
+    /**
+     * Lookups of the current address that found no coordinates. Reset when the address changes;
+     * events that reached the limit are no longer queued on startup.
+     */
+    @Column(name = "geocoding_attempts", nullable = false)
+    @Builder.Default
+    private Integer geocodingAttempts = 0;
+
     @Column(nullable = false)
     private Integer capacity;
 
+    /**
+     * Denormalized number of active registrations. Only changed through the conditional
+     * updates in {@link EventRepository}, never written back from the entity.
+     */
+    @Column(name = "registered_count", nullable = false, updatable = false)
+    @Builder.Default
+    private Integer registeredCount = 0;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     @Builder.Default
@@ -4,6 +4,7 @@ package com.eventflow.eventservice.event;
 import com.eventflow.eventservice.integration.WeatherResponse;
 import com.eventflow.eventservice.integration.WeatherService;
 import com.eventflow.eventservice.security.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -11,14 +12,19 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/events")
@@ -29,6 +35,7 @@ public class EventController {
 
     private final EventService eventService;
     private final WeatherService weatherService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @PreAuthorize("hasAnyRole('ORGANIZER', 'ADMIN')")
@@ -43,17 +50,40 @@ public class EventController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all events with optional filters")
-    public ResponseEntity<List<EventResponse>> getEvents(
+    @Operation(summary = "Get a page of events with optional filters, ordered by start date")
+    public ResponseEntity<EventPageResponse> getEvents(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime dateFrom,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime dateTo,
             @RequestParam(required = false) String city,
-            @RequestParam(required = false) EventStatus status
+            @RequestParam(required = false) EventStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + EventService.DEFAULT_PAGE_SIZE) int size
     ) {
-        List<EventResponse> events = eventService.getEvents(dateFrom, dateTo, city, status);
+        EventPageResponse events = eventService.getEvents(dateFrom, dateTo, city, status, cursor, size);
         return ResponseEntity.ok(events);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all events with optional filters as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> streamEvents(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime dateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime dateTo,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) EventStatus status
+    ) {
+        StreamingResponseBody body = outputStream -> eventService.streamEvents(dateFrom, dateTo, city, status, event -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(event));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/my")
     @PreAuthorize("hasAnyRole('ORGANIZER', 'ADMIN')")
     @SecurityRequirement(name = "bearerAuth")
@@ -99,14 +129,14 @@ public class EventController {
 
     @GetMapping("/{id}/weather")
     @Operation(summary = "Get weather forecast for event")
-    public ResponseEntity<WeatherResponse> getEventWeather(@PathVariable UUID id) {
+    public CompletableFuture<ResponseEntity<WeatherResponse>> getEventWeather(@PathVariable UUID id) {
         EventResponse event = eventService.getEvent(id);
-        WeatherResponse weather = weatherService.getWeatherForecast(
+        // Completed off the request thread, so a slow upstream does not hold a Tomcat worker
+        return weatherService.getWeatherForecast(
                 event.getLatitude(),
                 event.getLongitude(),
                 event.getStartAt()
-        );
-        return ResponseEntity.ok(weather);
+        ).thenApply(ResponseEntity::ok);
     }
 }
 
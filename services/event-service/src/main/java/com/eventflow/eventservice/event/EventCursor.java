@@ -0,0 +1,40 @@
+package com.eventflow.eventservice.event;
+
+import com.eventflow.eventservice.common.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position in the event listing ordered by {@code (startAt, id)}.
+ * Encoded as base64url of {@code <startAt instant>|<id>} so clients treat it as a token.
+ */
+public record EventCursor(ZonedDateTime startAt, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static EventCursor of(Event event) {
+        return new EventCursor(event.getStartAt(), event.getId());
+    }
+
+    public static EventCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            Instant startAt = Instant.parse(decoded.substring(0, separator));
+            UUID id = UUID.fromString(decoded.substring(separator + 1));
+            return new EventCursor(startAt.atZone(ZoneOffset.UTC), id);
+        } catch (RuntimeException e) {
+            throw new BusinessException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = startAt.toInstant().toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,183 @@
+package com.eventflow.eventservice.event;
+
+import com.eventflow.eventservice.integration.Coordinates;
+import com.eventflow.eventservice.integration.GeocodingService;
+import com.eventflow.eventservice.integration.GeocodingUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves event addresses in the background so creating or moving an event never waits on
+ * Nominatim. Events are saved without coordinates and filled in here once the lookup is done.
+ * A single thread works the queue, which together with the throttle in {@link GeocodingService}
+ * keeps upstream traffic within the provider's rate limit. Events still missing coordinates
+ * after a restart are picked up again when the application is ready, until their address has
+ * failed to resolve {@code max-attempts} times. A failed call (timeout, server error) is not
+ * such a miss: the task is queued again after a doubling backoff and no attempt is counted.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventGeocodingWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(EventGeocodingWorker.class);
+
+    private final GeocodingService geocodingService;
+    private final EventLocationWriter locationWriter;
+    private final EventRepository eventRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${integration.geocoding.worker.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${integration.geocoding.worker.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${integration.geocoding.worker.retry-backoff-ms:5000}")
+    private long retryBackoffMs;
+
+    @Value("${integration.geocoding.worker.max-retry-backoff-ms:300000}")
+    private long maxRetryBackoffMs;
+
+    private BlockingQueue<QueuedTask> queue;
+    private ScheduledExecutorService retries;
+    private volatile boolean running;
+    private Thread worker;
+
+    @PostConstruct
+    void start() {
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        Gauge.builder("event.geocoding.queue", queue, BlockingQueue::size)
+                .description("Events waiting for their address to be resolved")
+                .register(meterRegistry);
+        retries = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-geocoding-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        worker = new Thread(this::workLoop, "event-geocoding-worker");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        retries.shutdownNow();
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * Queues the lookup once the current transaction has committed, so the worker never
+     * reads an event that is not visible yet or was rolled back.
+     */
+    public void submit(UUID eventId, String address) {
+        GeocodingTask task = new GeocodingTask(eventId, address);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(task);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(task);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePending() {
+        List<GeocodingTask> pending = eventRepository.findGeocodingTasksByStatus(EventStatus.PLANNED, maxAttempts);
+        pending.forEach(this::enqueue);
+        if (!pending.isEmpty()) {
+            log.info("Queued {} planned events without coordinates for geocoding", pending.size());
+        }
+    }
+
+    private void enqueue(GeocodingTask task) {
+        enqueue(new QueuedTask(task, 0));
+    }
+
+    private void enqueue(QueuedTask queued) {
+        if (!queue.offer(queued)) {
+            // Left without coordinates; the next restart queues it again
+            log.warn("Geocoding queue is full, skipping event {}", queued.task().eventId());
+        }
+    }
+
+    private void workLoop() {
+        while (running) {
+            try {
+                resolve(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Geocoding task failed", e);
+            }
+        }
+    }
+
+    private void resolve(QueuedTask queued) {
+        GeocodingTask task = queued.task();
+        Coordinates coordinates;
+        try {
+            coordinates = geocodingService.geocodeAddress(task.address());
+        } catch (GeocodingUnavailableException e) {
+            retryLater(queued, e);
+            return;
+        }
+        if (coordinates == null) {
+            log.debug("No coordinates found for event {}", task.eventId());
+            locationWriter.recordMiss(task);
+            return;
+        }
+        if (locationWriter.write(task, coordinates)) {
+            log.debug("Stored coordinates for event {}", task.eventId());
+        } else {
+            log.debug("Event {} changed or was deleted before its address was resolved", task.eventId());
+        }
+    }
+
+    private void retryLater(QueuedTask queued, GeocodingUnavailableException cause) {
+        if (!running) {
+            // Stopping; the next start queues the event again
+            return;
+        }
+        long backoffMs = Math.min(maxRetryBackoffMs, retryBackoffMs << Math.min(queued.failures(), 20));
+        log.warn("Geocoding event {} failed, retrying in {} ms: {}", queued.task().eventId(), backoffMs, cause.getMessage());
+        try {
+            retries.schedule(() -> enqueue(new QueuedTask(queued.task(), queued.failures() + 1)),
+                    backoffMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.debug("Retry executor stopped, event {} is queued again on the next start", queued.task().eventId());
+        }
+    }
+
+    /**
+     * A task with the number of failed calls so far, which sets its next retry backoff.
+     */
+    private record QueuedTask(GeocodingTask task, int failures) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.eventflow.eventservice.event;
+
+import com.eventflow.eventservice.common.events.DomainEventPublisher;
+import com.eventflow.eventservice.common.events.EventLocationResolved;
+import com.eventflow.eventservice.integration.Coordinates;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Stores coordinates resolved by {@link EventGeocodingWorker} and announces them in the same transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventLocationWriter {
+
+    private final EventRepository eventRepository;
+    private final DomainEventPublisher eventPublisher;
+
+    /**
+     * @return false if the event was deleted or its address changed while the lookup ran
+     */
+    @Transactional
+    public boolean write(GeocodingTask task, Coordinates coordinates) {
+        int updated = eventRepository.updateCoordinates(
+                task.eventId(), task.address(), coordinates.getLatitude(), coordinates.getLongitude());
+        if (updated == 0) {
+            return false;
+        }
+        Event event = eventRepository.getReferenceById(task.eventId());
+        eventPublisher.publish(new EventLocationResolved(
+                task.eventId(), event.getTitle(), event.getOrganizerId(),
+                coordinates.getLatitude(), coordinates.getLongitude()));
+        return true;
+    }
+
+    @Transactional
+    public void recordMiss(GeocodingTask task) {
+        eventRepository.incrementGeocodingAttempts(task.eventId(), task.address());
+    }
+}
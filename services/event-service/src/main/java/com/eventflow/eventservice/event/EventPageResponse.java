@@ -0,0 +1,20 @@
+package com.eventflow.eventservice.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventPageResponse {
+
+    private List<EventResponse> content;
+    private int size;
+    private String nextCursor;
+    private boolean hasNext;
+}
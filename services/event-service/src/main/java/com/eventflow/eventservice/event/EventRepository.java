@@ -2,8 +2,11 @@ package com.eventflow.eventservice.event;
 
 import com.eventflow.eventservice.event.Event;
 import com.eventflow.eventservice.event.EventStatus;
+import com.eventflow.eventservice.registration.AdmissionSeed;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.ZonedDateTime;
@@ -11,10 +14,69 @@ import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, UUID>, JpaSpecificationExecutor<Event> {
+public interface EventRepository extends JpaRepository<Event, UUID>, JpaSpecificationExecutor<Event>, EventRepositoryCustom {
     
     List<Event> findByOrganizerId(UUID organizerId);
-    List<Event> findByStatusAndEndAtBefore(EventStatus status, ZonedDateTime time);
-}
 
+    /**
+     * Moves up to {@code limit} planned events that ended before {@code now} to FINISHED and returns
+     * their ids. Rows locked by another instance are skipped.
+     */
+    @Query(value = "UPDATE events SET status = 'FINISHED', updated_at = now() WHERE id IN (" +
+                   "SELECT id FROM events WHERE status = 'PLANNED' AND end_at < :now " +
+                   "ORDER BY end_at LIMIT :limit FOR UPDATE SKIP LOCKED) RETURNING id",
+           nativeQuery = true)
+    List<UUID> finishEndedBefore(ZonedDateTime now, int limit);
+
+    /**
+     * Claims one spot if the event still has capacity. Returns 0 when the event is full.
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.registeredCount = e.registeredCount + 1 " +
+           "WHERE e.id = :eventId AND e.registeredCount < e.capacity")
+    int incrementRegisteredCount(UUID eventId);
+
+    /**
+     * Claims {@code count} spots at once. Returns 0 when fewer than {@code count} spots are left.
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.registeredCount = e.registeredCount + :count " +
+           "WHERE e.id = :eventId AND e.registeredCount + :count <= e.capacity")
+    int incrementRegisteredCountBy(UUID eventId, int count);
+
+    /**
+     * Sets a new capacity unless more spots than that are already taken. Returns 0 when they are.
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.capacity = :capacity WHERE e.id = :eventId AND e.registeredCount <= :capacity")
+    int updateCapacity(UUID eventId, int capacity);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.registeredCount = e.registeredCount - 1 " +
+           "WHERE e.id = :eventId AND e.registeredCount > 0")
+    int decrementRegisteredCount(UUID eventId);
 
+    @Query("SELECT new com.eventflow.eventservice.registration.AdmissionSeed(e.id, e.capacity - e.registeredCount) " +
+           "FROM Event e WHERE e.status = :status")
+    List<AdmissionSeed> findAdmissionSeedsByStatus(EventStatus status);
+
+    /**
+     * Stores resolved coordinates unless the address was changed again in the meantime.
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.latitude = :latitude, e.longitude = :longitude " +
+           "WHERE e.id = :eventId AND e.address = :address")
+    int updateCoordinates(UUID eventId, String address, Double latitude, Double longitude);
+
+    /**
+     * Counts a lookup that found nothing, unless the address was changed in the meantime.
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.geocodingAttempts = e.geocodingAttempts + 1 " +
+           "WHERE e.id = :eventId AND e.address = :address")
+    int incrementGeocodingAttempts(UUID eventId, String address);
+
+    @Query("SELECT new com.eventflow.eventservice.event.GeocodingTask(e.id, e.address) " +
+           "FROM Event e WHERE e.status = :status AND e.latitude IS NULL AND e.geocodingAttempts < :maxAttempts")
+    List<GeocodingTask> findGeocodingTasksByStatus(EventStatus status, int maxAttempts);
+}
@@ -0,0 +1,16 @@
+package com.eventflow.eventservice.event;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.stream.Stream;
+
+public interface EventRepositoryCustom {
+
+    /**
+     * Streams events matching the specification ordered by {@code (startAt, id)}.
+     * Rows are fetched from the database in batches and detached as they are read,
+     * so the persistence context does not grow with the result set.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    Stream<Event> streamAll(Specification<Event> specification);
+}
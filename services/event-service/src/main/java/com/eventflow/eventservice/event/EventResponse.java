@@ -30,6 +30,26 @@ public class EventResponse {
     private UUID organizerId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
-}
 
+    public static EventResponse from(Event event) {
+        int availableSpots = event.getCapacity() - event.getRegisteredCount();
 
+        return EventResponse.builder()
+                .id(event.getId())
+                .title(event.getTitle())
+                .description(event.getDescription())
+                .startAt(event.getStartAt())
+                .endAt(event.getEndAt())
+                .address(event.getAddress())
+                .city(event.getCity())
+                .latitude(event.getLatitude())
+                .longitude(event.getLongitude())
+                .capacity(event.getCapacity())
+                .availableSpots(availableSpots)
+                .status(event.getStatus())
+                .organizerId(event.getOrganizerId())
+                .createdAt(event.getCreatedAt())
+                .updatedAt(event.getUpdatedAt())
+                .build();
+    }
+}
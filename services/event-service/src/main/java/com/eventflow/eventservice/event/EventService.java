@@ -5,11 +5,15 @@ import com.eventflow.eventservice.common.events.EventCreated;
 import com.eventflow.eventservice.common.events.EventUpdated;
 import com.eventflow.eventservice.common.events.EventDeleted;
 import com.eventflow.eventservice.common.exception.BusinessException;
-import com.eventflow.eventservice.integration.GeocodingService;
+import com.eventflow.eventservice.common.metrics.TimedOperation;
+import com.eventflow.eventservice.registration.RegistrationAdmissionGate;
 import com.eventflow.eventservice.registration.RegistrationRepository;
 import com.eventflow.eventservice.registration.RegistrationStatus;
 import com.eventflow.eventservice.security.User;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,26 +21,32 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @SuppressWarnings({"NullableProblems", "DataFlowIssue"})
 public class EventService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final Sort LISTING_ORDER = Sort.by("startAt", "id");
+
     private final EventRepository eventRepository;
     private final RegistrationRepository registrationRepository;
-    private final GeocodingService geocodingService;
+    private final EventGeocodingWorker geocodingWorker;
     private final DomainEventPublisher eventPublisher;
+    private final ObjectProvider<RegistrationAdmissionGate> admissionGate;
 
     @Transactional
+    @TimedOperation(component = "event", operation = "create")
     public EventResponse createEvent(EventCreateRequest request, User currentUser) {
         if (request.getEndAt().isBefore(request.getStartAt())) {
             throw new BusinessException("End date must be after start date");
         }
 
-        var coordinates = geocodingService.geocodeAddress(request.getAddress());
-
         Event event = Event.builder()
                 .title(request.getTitle())
                 .description(request.getDescription())
@@ -44,44 +54,81 @@ public class EventService {
                 .endAt(request.getEndAt())
                 .address(request.getAddress())
                 .city(request.getCity())
-                .latitude(coordinates != null ? coordinates.getLatitude() : null)
-                .longitude(coordinates != null ? coordinates.getLongitude() : null)
                 .capacity(request.getCapacity())
                 .status(EventStatus.PLANNED)
                 .organizerId(currentUser.getId())
                 .build();
 
         event = eventRepository.save(event);
+        // Coordinates are filled in by the worker after commit
+        geocodingWorker.submit(event.getId(), event.getAddress());
 
         eventPublisher.publish(new EventCreated(event.getId(), event.getTitle(), event.getOrganizerId()));
 
-        return mapToResponse(event);
+        return EventResponse.from(event);
     }
 
     @Transactional(readOnly = true)
-    public List<EventResponse> getEvents(ZonedDateTime dateFrom, ZonedDateTime dateTo, String city, EventStatus status) {
-        return eventRepository.findAll(EventSpecifications.withFilters(dateFrom, dateTo, city, status))
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    @TimedOperation(component = "event", operation = "list")
+    public EventPageResponse getEvents(ZonedDateTime dateFrom, ZonedDateTime dateTo, String city, EventStatus status,
+                                       String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        Specification<Event> specification = EventSpecifications.withFilters(dateFrom, dateTo, city, status);
+        if (cursor != null && !cursor.isBlank()) {
+            specification = specification.and(EventSpecifications.after(EventCursor.decode(cursor)));
+        }
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<Event> events = eventRepository.findBy(specification, query -> query
+                .sortBy(LISTING_ORDER)
+                .limit(pageSize + 1)
+                .all());
+
+        boolean hasNext = events.size() > pageSize;
+        List<Event> page = hasNext ? events.subList(0, pageSize) : events;
+
+        return EventPageResponse.builder()
+                .content(page.stream().map(EventResponse::from).collect(Collectors.toList()))
+                .size(page.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? EventCursor.of(page.get(page.size() - 1)).encode() : null)
+                .build();
     }
 
+    /**
+     * Streams every matching event in listing order to the consumer.
+     * Events are mapped one at a time so memory stays flat regardless of the result size.
+     */
     @Transactional(readOnly = true)
+    @TimedOperation(component = "event", operation = "stream")
+    public void streamEvents(ZonedDateTime dateFrom, ZonedDateTime dateTo, String city, EventStatus status,
+                             Consumer<EventResponse> consumer) {
+        try (Stream<Event> events = eventRepository.streamAll(
+                EventSpecifications.withFilters(dateFrom, dateTo, city, status))) {
+            events.map(EventResponse::from).forEachOrdered(consumer);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @TimedOperation(component = "event", operation = "list-own")
     public List<EventResponse> getMyEvents(User currentUser) {
         return eventRepository.findByOrganizerId(currentUser.getId())
                 .stream()
-                .map(this::mapToResponse)
+                .map(EventResponse::from)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
+    @TimedOperation(component = "event", operation = "get")
     public EventResponse getEvent(UUID id) {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new BusinessException("Event not found"));
-        return mapToResponse(event);
+        return EventResponse.from(event);
     }
 
     @Transactional
+    @TimedOperation(component = "event", operation = "update")
     public EventResponse updateEvent(UUID id, EventUpdateRequest request, User currentUser) {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new BusinessException("Event not found"));
@@ -91,6 +138,9 @@ public class EventService {
             throw new AccessDeniedException("You don't have permission to update this event");
         }
 
+        int previousCapacity = event.getCapacity();
+        EventStatus previousStatus = event.getStatus();
+
         if (request.getTitle() != null) {
             event.setTitle(request.getTitle());
         }
@@ -103,16 +153,21 @@ public class EventService {
         if (request.getEndAt() != null) {
             event.setEndAt(request.getEndAt());
         }
-        if (request.getAddress() != null) {
+        boolean addressChanged = request.getAddress() != null && !request.getAddress().equals(event.getAddress());
+        if (addressChanged) {
             event.setAddress(request.getAddress());
-            var coordinates = geocodingService.geocodeAddress(request.getAddress());
-            event.setLatitude(coordinates != null ? coordinates.getLatitude() : null);
-            event.setLongitude(coordinates != null ? coordinates.getLongitude() : null);
+            event.setLatitude(null);
+            event.setLongitude(null);
+            event.setGeocodingAttempts(0);
         }
         if (request.getCity() != null) {
             event.setCity(request.getCity());
         }
         if (request.getCapacity() != null) {
+            // Checked in the database, since the loaded registeredCount misses registrations made since
+            if (eventRepository.updateCapacity(id, request.getCapacity()) == 0) {
+                throw new BusinessException("Capacity cannot be lower than the number of registrations already made");
+            }
             event.setCapacity(request.getCapacity());
         }
         if (request.getStatus() != null) {
@@ -121,6 +176,18 @@ public class EventService {
 
         event = eventRepository.save(event);
 
+        if (addressChanged) {
+            geocodingWorker.submit(event.getId(), event.getAddress());
+        }
+
+        UUID eventId = event.getId();
+        if (event.getStatus() != previousStatus) {
+            admissionGate.ifAvailable(gate -> gate.evict(List.of(eventId)));
+        } else if (event.getCapacity() != previousCapacity) {
+            int delta = event.getCapacity() - previousCapacity;
+            admissionGate.ifAvailable(gate -> gate.adjustCapacity(eventId, delta));
+        }
+
         List<UUID> recipients = registrationRepository.findByEventId(event.getId())
                 .stream()
                 .filter(reg -> reg.getStatus() == RegistrationStatus.REGISTERED)
@@ -134,10 +201,11 @@ public class EventService {
                 recipients
         ));
 
-        return mapToResponse(event);
+        return EventResponse.from(event);
     }
 
     @Transactional
+    @TimedOperation(component = "event", operation = "delete")
     public void deleteEvent(UUID id, User currentUser) {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new BusinessException("Event not found"));
@@ -161,29 +229,7 @@ public class EventService {
         ));
 
         eventRepository.delete(event);
-    }
-
-    private EventResponse mapToResponse(Event event) {
-        long activeRegistrations = registrationRepository.countActiveRegistrationsByEventId(event.getId());
-        int availableSpots = event.getCapacity() - (int) activeRegistrations;
-
-        return EventResponse.builder()
-                .id(event.getId())
-                .title(event.getTitle())
-                .description(event.getDescription())
-                .startAt(event.getStartAt())
-                .endAt(event.getEndAt())
-                .address(event.getAddress())
-                .city(event.getCity())
-                .latitude(event.getLatitude())
-                .longitude(event.getLongitude())
-                .capacity(event.getCapacity())
-                .availableSpots(availableSpots)
-                .status(event.getStatus())
-                .organizerId(event.getOrganizerId())
-                .createdAt(event.getCreatedAt())
-                .updatedAt(event.getUpdatedAt())
-                .build();
+        admissionGate.ifAvailable(gate -> gate.evict(List.of(id)));
     }
 }
 
@@ -35,4 +35,17 @@ public class EventSpecifications {
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
-}
\ No newline at end of file
+
+    /**
+     * Keyset predicate selecting events strictly after the cursor in {@code (startAt, id)} order.
+     */
+    public static Specification<Event> after(EventCursor cursor) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.or(
+            criteriaBuilder.greaterThan(root.get("startAt"), cursor.startAt()),
+            criteriaBuilder.and(
+                criteriaBuilder.equal(root.get("startAt"), cursor.startAt()),
+                criteriaBuilder.greaterThan(root.get("id"), cursor.id())
+            )
+        );
+    }
+}
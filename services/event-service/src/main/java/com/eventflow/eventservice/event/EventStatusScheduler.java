@@ -3,30 +3,45 @@ package com.eventflow.eventservice.event;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.ZonedDateTime;
-import java.util.List;
 
+/**
+ * Moves planned events whose end has passed to FINISHED. Each chunk is one set-based UPDATE in
+ * its own transaction, so a backlog never loads events into memory, and a run handles at most
+ * {@code max-chunks} chunks; the rest is picked up by the next run. Instances running at the
+ * same time skip each other's locked rows.
+ */
 @Component
 @RequiredArgsConstructor
 public class EventStatusScheduler {
 
     private static final Logger log = LoggerFactory.getLogger(EventStatusScheduler.class);
 
-    private final EventRepository eventRepository;
+    private final EventStatusWriter statusWriter;
+
+    @Value("${event.status.scheduler.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${event.status.scheduler.max-chunks:20}")
+    private int maxChunks;
 
     @Scheduled(fixedDelayString = "${event.status.scheduler.delay:60000}")
-    @Transactional
     public void markPastEventsAsFinished() {
         ZonedDateTime now = ZonedDateTime.now();
-        List<Event> toFinish = eventRepository.findByStatusAndEndAtBefore(EventStatus.PLANNED, now);
-        if (toFinish.isEmpty()) return;
-
-        log.info("Marking {} events as FINISHED (endAt before {})", toFinish.size(), now);
-        toFinish.forEach(ev -> ev.setStatus(EventStatus.FINISHED));
-        eventRepository.saveAll(toFinish);
+        int total = 0;
+        for (int chunk = 0; chunk < maxChunks; chunk++) {
+            int finished = statusWriter.finishChunk(now, chunkSize);
+            total += finished;
+            if (finished < chunkSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Marked {} events as FINISHED (endAt before {})", total, now);
+        }
     }
 }
@@ -0,0 +1,38 @@
+package com.eventflow.eventservice.event;
+
+import com.eventflow.eventservice.common.events.DomainEventPublisher;
+import com.eventflow.eventservice.common.events.EventsFinished;
+import com.eventflow.eventservice.registration.RegistrationAdmissionGate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Finishes one chunk of ended events for {@link EventStatusScheduler} and announces them in the same transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventStatusWriter {
+
+    private final EventRepository eventRepository;
+    private final DomainEventPublisher eventPublisher;
+    private final ObjectProvider<RegistrationAdmissionGate> admissionGate;
+
+    /**
+     * @return the number of events moved to FINISHED
+     */
+    @Transactional
+    public int finishChunk(ZonedDateTime now, int limit) {
+        List<UUID> finished = eventRepository.finishEndedBefore(now, limit);
+        if (!finished.isEmpty()) {
+            eventPublisher.publish(new EventsFinished(finished));
+            admissionGate.ifAvailable(gate -> gate.evict(finished));
+        }
+        return finished.size();
+    }
+}
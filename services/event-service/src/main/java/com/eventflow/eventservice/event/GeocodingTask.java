@@ -0,0 +1,9 @@
+package com.eventflow.eventservice.event;
+
+import java.util.UUID;
+
+/**
+ * An event whose address still has to be resolved by {@link EventGeocodingWorker}.
+ */
+public record GeocodingTask(UUID eventId, String address) {
+}
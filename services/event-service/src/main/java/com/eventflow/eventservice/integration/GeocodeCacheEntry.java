@@ -0,0 +1,33 @@
+package com.eventflow.eventservice.integration;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted geocoding result. Keyed by the normalized address so spelling variants that only
+ * differ in case or whitespace share one row.
+ */
+@Entity
+@Table(name = "geocode_cache")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GeocodeCacheEntry {
+
+    @Id
+    @Column(length = 500)
+    private String addressKey;
+
+    @Column(nullable = false)
+    private Double latitude;
+
+    @Column(nullable = false)
+    private Double longitude;
+
+    @Column(nullable = false)
+    private LocalDateTime resolvedAt;
+}
@@ -0,0 +1,37 @@
+package com.eventflow.eventservice.integration;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface GeocodeCacheRepository extends JpaRepository<GeocodeCacheEntry, String> {
+
+    Optional<GeocodeCacheEntry> findByAddressKeyAndResolvedAtAfter(String addressKey, LocalDateTime cutoff);
+
+    /**
+     * Inserts or refreshes a row. Another instance resolving the same address concurrently
+     * must not fail the surrounding transaction, hence the upsert instead of a plain save.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO geocode_cache (address_key, latitude, longitude, resolved_at)
+            VALUES (:addressKey, :latitude, :longitude, :resolvedAt)
+            ON CONFLICT (address_key) DO UPDATE
+            SET latitude = EXCLUDED.latitude,
+                longitude = EXCLUDED.longitude,
+                resolved_at = EXCLUDED.resolved_at
+            """, nativeQuery = true)
+    void upsert(String addressKey, double latitude, double longitude, LocalDateTime resolvedAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM GeocodeCacheEntry e WHERE e.resolvedAt < :cutoff")
+    int deleteResolvedBefore(LocalDateTime cutoff);
+}
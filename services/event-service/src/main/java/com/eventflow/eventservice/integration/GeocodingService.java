@@ -1,55 +1,185 @@
 package com.eventflow.eventservice.integration;
 
-import com.eventflow.eventservice.integration.Coordinates;
 import com.fasterxml.jackson.databind.JsonNode;
-import io.netty.channel.ChannelOption;
-import io.netty.handler.timeout.ReadTimeoutHandler;
-import io.netty.handler.timeout.WriteTimeoutHandler;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
-import reactor.netty.http.client.HttpClient;
 
 import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Service for geocoding addresses to coordinates using OpenStreetMap Nominatim API.
- * Implements simple in-memory caching to reduce API calls for repeated addresses.
+ * Lookups go through a size-bounded in-memory cache, then the persisted {@code geocode_cache}
+ * table, and only then upstream. Concurrent misses for the same address share one upstream call,
+ * and upstream calls are spaced by a minimum interval to respect Nominatim's usage policy.
+ * Addresses Nominatim has no result for are remembered in memory for a short time, so they are
+ * not looked up again on every request; failed calls are not cached.
  */
 @Service
-@RequiredArgsConstructor
 public class GeocodingService {
 
     private static final Logger log = LoggerFactory.getLogger(GeocodingService.class);
 
-    private final Map<String, Coordinates> geocodeCache = new ConcurrentHashMap<>();
+    /**
+     * Cached in place of coordinates for addresses that have no result.
+     */
+    private static final Coordinates NOT_FOUND = Coordinates.builder().build();
 
-    private final WebClient webClient = WebClient.builder()
-            .baseUrl("https://nominatim.openstreetmap.org")
-            .clientConnector(new ReactorClientHttpConnector(
-                    HttpClient.create()
-                            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 5000)
-                            .responseTimeout(Duration.ofSeconds(5))
-                            .doOnConnected(conn -> conn
-                                    .addHandlerLast(new ReadTimeoutHandler(5, TimeUnit.SECONDS))
-                                    .addHandlerLast(new WriteTimeoutHandler(5, TimeUnit.SECONDS)))
-            ))
-            .build();
+    private final Map<String, CacheEntry> geocodeCache = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Coordinates>> inFlight = new ConcurrentHashMap<>();
 
+    private final GeocodeCacheRepository cacheRepository;
+    private final WebClient webClient;
+    private final MeterRegistry meterRegistry;
+    private final int maxSize;
+    private final Duration ttl;
+    private final Duration negativeTtl;
+    private final long minIntervalMillis;
+    private long nextUpstreamCallAt;
+    private final Counter cacheHits;
+    private final Counter persistedHits;
+    private final Counter coalescedLookups;
+    private final Counter cacheMisses;
+
+    public GeocodingService(
+            GeocodeCacheRepository cacheRepository,
+            MeterRegistry meterRegistry,
+            ReactorClientHttpConnector integrationHttpConnector,
+            @Value("${integration.geocoding.base-url:https://nominatim.openstreetmap.org}") String baseUrl,
+            @Value("${integration.geocoding.cache.max-size:10000}") int maxSize,
+            @Value("${integration.geocoding.cache.ttl-hours:720}") long ttlHours,
+            @Value("${integration.geocoding.cache.negative-ttl-seconds:600}") long negativeTtlSeconds,
+            @Value("${integration.geocoding.min-interval-ms:1000}") long minIntervalMillis
+    ) {
+        this.cacheRepository = cacheRepository;
+        this.meterRegistry = meterRegistry;
+        this.maxSize = maxSize;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.negativeTtl = Duration.ofSeconds(negativeTtlSeconds);
+        this.minIntervalMillis = minIntervalMillis;
+        this.cacheHits = Counter.builder("event.geocoding.cache").tag("result", "hit").register(meterRegistry);
+        this.persistedHits = Counter.builder("event.geocoding.cache").tag("result", "persisted").register(meterRegistry);
+        this.coalescedLookups = Counter.builder("event.geocoding.cache").tag("result", "coalesced").register(meterRegistry);
+        this.cacheMisses = Counter.builder("event.geocoding.cache").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("event.geocoding.cache.hit.ratio", this, GeocodingService::hitRatio)
+                .description("Share of lookups answered without an upstream call since startup")
+                .register(meterRegistry);
+        Gauge.builder("event.geocoding.cache.size", geocodeCache, Map::size).register(meterRegistry);
+        this.webClient = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(integrationHttpConnector)
+                .build();
+    }
+
+    /**
+     * @return the coordinates, or null when Nominatim has no result for the address
+     * @throws GeocodingUnavailableException when the lookup failed and may succeed later
+     */
     public Coordinates geocodeAddress(String address) {
-        Coordinates cached = geocodeCache.get(address);
+        String key = normalize(address);
+        Coordinates cached = getCached(key);
         if (cached != null) {
+            cacheHits.increment();
             log.debug("Cache hit for address: {}", address);
-            return cached;
+            return cached != NOT_FOUND ? cached : null;
+        }
+
+        CompletableFuture<Coordinates> lookup = new CompletableFuture<>();
+        CompletableFuture<Coordinates> running = inFlight.putIfAbsent(key, lookup);
+        if (running != null) {
+            coalescedLookups.increment();
+            log.debug("Joining in-flight lookup for address: {}", address);
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
         }
 
+        try {
+            Coordinates resolved = resolve(key, address);
+            lookup.complete(resolved);
+            return resolved;
+        } catch (RuntimeException e) {
+            lookup.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, lookup);
+        }
+    }
+
+    /**
+     * Drops persisted rows older than the TTL so the table does not grow without bound.
+     */
+    @Scheduled(fixedDelayString = "${integration.geocoding.cache.purge-delay-ms:3600000}")
+    public void purgeExpired() {
+        int purged = cacheRepository.deleteResolvedBefore(LocalDateTime.now().minus(ttl));
+        if (purged > 0) {
+            log.info("Purged {} expired geocoding cache rows", purged);
+        }
+    }
+
+    private Coordinates resolve(String key, String address) {
+        var persisted = cacheRepository.findByAddressKeyAndResolvedAtAfter(key, LocalDateTime.now().minus(ttl));
+        if (persisted.isPresent()) {
+            persistedHits.increment();
+            GeocodeCacheEntry entry = persisted.get();
+            Coordinates coordinates = Coordinates.builder()
+                    .latitude(entry.getLatitude())
+                    .longitude(entry.getLongitude())
+                    .build();
+            putCached(key, coordinates, entry.getResolvedAt().atZone(ZoneId.systemDefault()).toInstant()
+                    .plus(ttl).toEpochMilli());
+            return coordinates;
+        }
+
+        cacheMisses.increment();
         log.debug("Cache miss for address: {}, calling API", address);
+        Coordinates coordinates = fetch(address);
+        if (coordinates == NOT_FOUND) {
+            putCached(key, NOT_FOUND, System.currentTimeMillis() + negativeTtl.toMillis());
+            return null;
+        }
+        LocalDateTime resolvedAt = LocalDateTime.now();
+        cacheRepository.upsert(key, coordinates.getLatitude(), coordinates.getLongitude(), resolvedAt);
+        putCached(key, coordinates, System.currentTimeMillis() + ttl.toMillis());
+        log.debug("Cached coordinates for address: {}", address);
+        return coordinates;
+    }
+
+    /**
+     * @return {@link #NOT_FOUND} when Nominatim has no result
+     * @throws GeocodingUnavailableException when the call failed
+     */
+    private Coordinates fetch(String address) {
+        try {
+            awaitUpstreamSlot();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GeocodingUnavailableException("Interrupted while waiting to geocode " + address, e);
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
         try {
             JsonNode response = webClient.get()
                     .uri(uriBuilder -> uriBuilder
@@ -61,27 +191,85 @@ public class GeocodingService {
                     .header("User-Agent", "EventFlow/1.0")
                     .retrieve()
                     .bodyToMono(JsonNode.class)
+                    // Only EventGeocodingWorker calls this, never a request thread
                     .block();
 
+            outcome = "success";
             if (response != null && response.isArray() && response.size() > 0) {
                 JsonNode first = response.get(0);
-                Coordinates coordinates = Coordinates.builder()
+                return Coordinates.builder()
                         .latitude(first.get("lat").asDouble())
                         .longitude(first.get("lon").asDouble())
                         .build();
-                
-                geocodeCache.put(address, coordinates);
-                log.debug("Cached coordinates for address: {}", address);
-                return coordinates;
             }
 
             log.warn("Could not geocode address: {}", address);
-            return null;
+            return NOT_FOUND;
         } catch (Exception e) {
             log.error("Error geocoding address: {}", address, e);
+            throw new GeocodingUnavailableException("Failed to geocode " + address, e);
+        } finally {
+            sample.stop(Timer.builder("event.geocoding.upstream")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private void awaitUpstreamSlot() throws InterruptedException {
+        long wait;
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            long slot = Math.max(now, nextUpstreamCallAt);
+            nextUpstreamCallAt = slot + minIntervalMillis;
+            wait = slot - now;
+        }
+        if (wait > 0) {
+            Thread.sleep(wait);
+        }
+    }
+
+    private Coordinates getCached(String key) {
+        CacheEntry entry = geocodeCache.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            geocodeCache.remove(key, entry);
             return null;
         }
+        return entry.coordinates();
+    }
+
+    private void putCached(String key, Coordinates coordinates, long expiresAt) {
+        long now = System.currentTimeMillis();
+        if (expiresAt <= now) {
+            return;
+        }
+        if (geocodeCache.size() >= maxSize) {
+            evict(now);
+        }
+        geocodeCache.put(key, new CacheEntry(coordinates, expiresAt));
     }
-}
 
+    private void evict(long now) {
+        geocodeCache.values().removeIf(entry -> entry.expiresAt() <= now);
+        Iterator<String> keys = geocodeCache.keySet().iterator();
+        while (geocodeCache.size() > maxSize * 9 / 10 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
 
+    private static String normalize(String address) {
+        return address.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private double hitRatio() {
+        double answered = cacheHits.count() + persistedHits.count() + coalescedLookups.count();
+        double lookups = answered + cacheMisses.count();
+        return lookups > 0 ? answered / lookups : 0;
+    }
+
+    private record CacheEntry(Coordinates coordinates, long expiresAt) {
+    }
+}
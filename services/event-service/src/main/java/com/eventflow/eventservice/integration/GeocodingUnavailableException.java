@@ -0,0 +1,13 @@
+package com.eventflow.eventservice.integration;
+
+/**
+ * Thrown when an address could not be looked up because the geocoding call failed (timeout,
+ * server error, interrupted wait). Unlike an address without a result, the lookup is worth
+ * trying again later.
+ */
+public class GeocodingUnavailableException extends RuntimeException {
+
+    public GeocodingUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
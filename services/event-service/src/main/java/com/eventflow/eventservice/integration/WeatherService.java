@@ -2,54 +2,173 @@ package com.eventflow.eventservice.integration;
 
 import com.eventflow.eventservice.common.exception.BusinessException;
 import com.fasterxml.jackson.databind.JsonNode;
-import io.netty.channel.ChannelOption;
-import io.netty.handler.timeout.ReadTimeoutHandler;
-import io.netty.handler.timeout.WriteTimeoutHandler;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
-import reactor.netty.http.client.HttpClient;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
-import java.time.Duration;
+import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Daily forecasts from Open-Meteo, cached per coordinate bucket and date so events in the same
+ * area on the same day share one upstream call. Entries are fresh for the TTL; after that they
+ * are still served for a while and refreshed in the background. Concurrent lookups for the same
+ * key share one request, and dates outside the forecast window are rejected without a call.
+ * Upstream calls never block the calling thread; callers get a future that completes on the
+ * HTTP client's event loop.
+ */
 @Service
-@RequiredArgsConstructor
 @SuppressWarnings({"NullableProblems", "DataFlowIssue"})
 public class WeatherService {
 
     private static final Logger log = LoggerFactory.getLogger(WeatherService.class);
 
-    private final WebClient webClient = WebClient.builder()
-            .baseUrl("https://api.open-meteo.com/v1")
-            .clientConnector(new ReactorClientHttpConnector(
-                    HttpClient.create()
-                            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 5000)
-                            .responseTimeout(Duration.ofSeconds(5))
-                            .doOnConnected(conn -> conn
-                                    .addHandlerLast(new ReadTimeoutHandler(5, TimeUnit.SECONDS))
-                                    .addHandlerLast(new WriteTimeoutHandler(5, TimeUnit.SECONDS)))
-            ))
-            .build();
-
-    public WeatherResponse getWeatherForecast(Double latitude, Double longitude, ZonedDateTime dateTime) {
+    private final Map<ForecastKey, CacheEntry> forecastCache = new ConcurrentHashMap<>();
+    private final Map<ForecastKey, CompletableFuture<WeatherResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final WebClient webClient;
+    private final MeterRegistry meterRegistry;
+    private final double bucketDegrees;
+    private final int horizonDays;
+    private final int pastDays;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final long maxStaleMillis;
+    private final Counter cacheHits;
+    private final Counter staleHits;
+    private final Counter coalescedLookups;
+    private final Counter cacheMisses;
+
+    public WeatherService(
+            MeterRegistry meterRegistry,
+            ReactorClientHttpConnector integrationHttpConnector,
+            @Value("${integration.weather.base-url:https://api.open-meteo.com/v1}") String baseUrl,
+            @Value("${integration.weather.cache.bucket-degrees:0.1}") double bucketDegrees,
+            @Value("${integration.weather.cache.max-size:5000}") int maxSize,
+            @Value("${integration.weather.cache.ttl-minutes:60}") long ttlMinutes,
+            @Value("${integration.weather.cache.max-stale-minutes:360}") long maxStaleMinutes,
+            @Value("${integration.weather.horizon-days:16}") int horizonDays,
+            @Value("${integration.weather.past-days:92}") int pastDays
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.bucketDegrees = bucketDegrees;
+        this.maxSize = maxSize;
+        this.ttlMillis = TimeUnit.MINUTES.toMillis(ttlMinutes);
+        this.maxStaleMillis = TimeUnit.MINUTES.toMillis(maxStaleMinutes);
+        this.horizonDays = horizonDays;
+        this.pastDays = pastDays;
+        this.cacheHits = Counter.builder("event.weather.cache").tag("result", "hit").register(meterRegistry);
+        this.staleHits = Counter.builder("event.weather.cache").tag("result", "stale").register(meterRegistry);
+        this.coalescedLookups = Counter.builder("event.weather.cache").tag("result", "coalesced").register(meterRegistry);
+        this.cacheMisses = Counter.builder("event.weather.cache").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("event.weather.cache.size", forecastCache, Map::size).register(meterRegistry);
+        this.webClient = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(integrationHttpConnector)
+                .build();
+    }
+
+    public CompletableFuture<WeatherResponse> getWeatherForecast(Double latitude, Double longitude, ZonedDateTime dateTime) {
         if (latitude == null || longitude == null) {
             throw new BusinessException("Event location coordinates are not available");
         }
 
-        try {
-            String date = dateTime.format(DateTimeFormatter.ISO_LOCAL_DATE);
-            
-            JsonNode response = webClient.get()
+        LocalDate date = dateTime.toLocalDate();
+        LocalDate today = LocalDate.now(dateTime.getZone());
+        if (date.isAfter(today.plusDays(horizonDays))) {
+            throw new BusinessException("Weather forecast is only available up to " + horizonDays + " days ahead");
+        }
+        if (date.isBefore(today.minusDays(pastDays))) {
+            throw new BusinessException("Weather data is not available for dates more than " + pastDays + " days ago");
+        }
+
+        ForecastKey key = new ForecastKey(bucket(latitude), bucket(longitude), date);
+        long now = System.currentTimeMillis();
+        CacheEntry cached = forecastCache.get(key);
+        if (cached != null && now < cached.fetchedAt() + ttlMillis) {
+            cacheHits.increment();
+            return CompletableFuture.completedFuture(cached.forecast());
+        }
+        if (cached != null && now < cached.fetchedAt() + maxStaleMillis) {
+            staleHits.increment();
+            if (!inFlight.containsKey(key)) {
+                load(key).exceptionally(e -> {
+                    log.warn("Background refresh of forecast {} failed: {}", key, e.getMessage());
+                    return null;
+                });
+            }
+            return CompletableFuture.completedFuture(cached.forecast());
+        }
+
+        CompletableFuture<WeatherResponse> running = inFlight.get(key);
+        if (running != null) {
+            coalescedLookups.increment();
+            return running;
+        }
+        cacheMisses.increment();
+        return load(key);
+    }
+
+    /**
+     * Drops entries that are too old to be served, and forecasts for days that have passed.
+     */
+    @Scheduled(fixedDelayString = "${integration.weather.cache.purge-delay-ms:600000}")
+    public void purgeExpired() {
+        long cutoff = System.currentTimeMillis() - maxStaleMillis;
+        LocalDate oldest = LocalDate.now().minusDays(pastDays);
+        forecastCache.entrySet().removeIf(entry ->
+                entry.getValue().fetchedAt() < cutoff || entry.getKey().date().isBefore(oldest));
+    }
+
+    /**
+     * Starts the upstream call unless one is already running for the key, and returns the shared result.
+     */
+    private CompletableFuture<WeatherResponse> load(ForecastKey key) {
+        CompletableFuture<WeatherResponse> lookup = inFlight.computeIfAbsent(key, k -> fetch(k)
+                .doOnNext(forecast -> store(k, forecast))
+                .toFuture());
+        lookup.whenComplete((forecast, error) -> inFlight.remove(key, lookup));
+        return lookup;
+    }
+
+    private void store(ForecastKey key, WeatherResponse forecast) {
+        long now = System.currentTimeMillis();
+        if (forecastCache.size() >= maxSize) {
+            forecastCache.values().removeIf(entry -> entry.fetchedAt() + maxStaleMillis <= now);
+            Iterator<ForecastKey> keys = forecastCache.keySet().iterator();
+            while (forecastCache.size() > maxSize * 9 / 10 && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+        forecastCache.put(key, new CacheEntry(forecast, now));
+    }
+
+    private Mono<WeatherResponse> fetch(ForecastKey key) {
+        String date = key.date().format(DateTimeFormatter.ISO_LOCAL_DATE);
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return webClient.get()
                     .uri(uriBuilder -> uriBuilder
                             .path("/forecast")
-                            .queryParam("latitude", latitude)
-                            .queryParam("longitude", longitude)
+                            .queryParam("latitude", key.latitudeBucket() * bucketDegrees)
+                            .queryParam("longitude", key.longitudeBucket() * bucketDegrees)
                             .queryParam("start_date", date)
                             .queryParam("end_date", date)
                             .queryParam("daily", "temperature_2m_max,temperature_2m_min,precipitation_sum,precipitation_probability_max,wind_speed_10m_max,weather_code")
@@ -57,52 +176,61 @@ public class WeatherService {
                             .build())
                     .retrieve()
                     .bodyToMono(JsonNode.class)
-                    .block();
-
-            if (response != null && response.has("daily")) {
-                JsonNode daily = response.get("daily");
-                double tempMax = daily.get("temperature_2m_max").get(0).asDouble();
-                double tempMin = daily.get("temperature_2m_min").get(0).asDouble();
-                double precipitation = daily.get("precipitation_sum").get(0).asDouble();
-                
-
-                int rainProbability = daily.has("precipitation_probability_max") && !daily.get("precipitation_probability_max").get(0).isNull() 
-                        ? daily.get("precipitation_probability_max").get(0).asInt() 
-                        : 0;
-                
-                double windSpeed = daily.has("wind_speed_10m_max") && !daily.get("wind_speed_10m_max").get(0).isNull()
-                        ? daily.get("wind_speed_10m_max").get(0).asDouble()
-                        : 0.0;
-                
-
-                int weatherCode = daily.has("weather_code") && !daily.get("weather_code").get(0).isNull()
-                        ? daily.get("weather_code").get(0).asInt()
-                        : 0;
-
-                String condition = getConditionFromCode(weatherCode, precipitation);
-                double avgTemp = (tempMax + tempMin) / 2;
-
-                return WeatherResponse.builder()
-                        .temperature(avgTemp)
-                        .temperatureMax(tempMax)
-                        .temperatureMin(tempMin)
-                        .condition(condition)
-                        .windSpeed(windSpeed)
-                        .humidity(rainProbability) // Rain probability percentage
-                        .precipitation(precipitation)
-                        .weatherCode(weatherCode)
-                        .forecast(String.format("Temperature: %.1f°C, Max: %.1f°C, Min: %.1f°C, Precipitation: %.1fmm, Wind: %.1f km/h", 
-                                avgTemp, tempMax, tempMin, precipitation, windSpeed))
-                        .build();
-            }
+                    .doFinally(signal -> sample.stop(Timer.builder("event.weather.upstream")
+                            .tag("outcome", signal == SignalType.ON_COMPLETE ? "success" : "error")
+                            .register(meterRegistry)));
+        })
+                .map(response -> {
+                    if (!response.has("daily")) {
+                        throw new BusinessException("Unable to fetch weather data");
+                    }
+                    return toWeatherResponse(response.get("daily"));
+                })
+                .switchIfEmpty(Mono.error(() -> new BusinessException("Unable to fetch weather data")))
+                .onErrorMap(e -> !(e instanceof BusinessException), e -> {
+                    log.error("Error fetching weather forecast", e);
+                    return new BusinessException("Error fetching weather data: " + e.getMessage());
+                });
+    }
 
-            throw new BusinessException("Unable to fetch weather data");
-        } catch (BusinessException e) {
-            throw e;
-        } catch (RuntimeException e) {
-            log.error("Error fetching weather forecast", e);
-            throw new BusinessException("Error fetching weather data: " + e.getMessage());
-        }
+    private WeatherResponse toWeatherResponse(JsonNode daily) {
+        double tempMax = daily.get("temperature_2m_max").get(0).asDouble();
+        double tempMin = daily.get("temperature_2m_min").get(0).asDouble();
+        double precipitation = daily.get("precipitation_sum").get(0).asDouble();
+        
+
+        int rainProbability = daily.has("precipitation_probability_max") && !daily.get("precipitation_probability_max").get(0).isNull() 
+                ? daily.get("precipitation_probability_max").get(0).asInt() 
+                : 0;
+        
+        double windSpeed = daily.has("wind_speed_10m_max") && !daily.get("wind_speed_10m_max").get(0).isNull()
+                ? daily.get("wind_speed_10m_max").get(0).asDouble()
+                : 0.0;
+        
+
+        int weatherCode = daily.has("weather_code") && !daily.get("weather_code").get(0).isNull()
+                ? daily.get("weather_code").get(0).asInt()
+                : 0;
+
+        String condition = getConditionFromCode(weatherCode, precipitation);
+        double avgTemp = (tempMax + tempMin) / 2;
+
+        return WeatherResponse.builder()
+                .temperature(avgTemp)
+                .temperatureMax(tempMax)
+                .temperatureMin(tempMin)
+                .condition(condition)
+                .windSpeed(windSpeed)
+                .humidity(rainProbability) // Rain probability percentage
+                .precipitation(precipitation)
+                .weatherCode(weatherCode)
+                .forecast(String.format("Temperature: %.1f°C, Max: %.1f°C, Min: %.1f°C, Precipitation: %.1fmm, Wind: %.1f km/h", 
+                        avgTemp, tempMax, tempMin, precipitation, windSpeed))
+                .build();
+    }
+
+    private long bucket(double coordinate) {
+        return Math.round(coordinate / bucketDegrees);
     }
     
     private String getConditionFromCode(int code, double precipitation) {
@@ -120,6 +248,10 @@ public class WeatherService {
         if (code >= 95) return "Thunderstorm";
         return precipitation > 5 ? "Rainy" : "Clear";
     }
-}
 
+    private record ForecastKey(long latitudeBucket, long longitudeBucket, LocalDate date) {
+    }
 
+    private record CacheEntry(WeatherResponse forecast, long fetchedAt) {
+    }
+}
@@ -28,7 +28,16 @@ public class Invitation {
     @Column(name = "invitee_email", nullable = false, length = 320)
     private String inviteeEmail;
 
-    @Column(nullable = false, unique = true, length = 128)
+    /**
+     * SHA-256 of the token; only the digest is stored.
+     */
+    @Column(name = "token_hash", nullable = false, unique = true)
+    private byte[] tokenHash;
+
+    /**
+     * The token itself, available only on invitations created in this request.
+     */
+    @Transient
     private String token;
 
     @Enumerated(EnumType.STRING)
@@ -0,0 +1,35 @@
+package com.eventflow.eventservice.invitation;
+
+import com.eventflow.eventservice.common.events.DomainEvent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One INVITATION_REQUESTED message for a whole bulk invite. Notification-service expands
+ * {@link #invitations} into one email per invitee.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvitationBatchRequestedEvent implements DomainEvent {
+    private UUID eventId;
+    private String eventTitle;
+    private UUID inviterUserId;
+    private String inviterUsername;
+    private String eventAddress;
+    private String eventCity;
+    private String eventStartAt;
+    private List<Invitee> invitations;
+
+    @Override
+    public String getEventType() {
+        return "INVITATION_REQUESTED";
+    }
+
+    public record Invitee(UUID invitationId, String inviteeEmail, String token) {
+    }
+}
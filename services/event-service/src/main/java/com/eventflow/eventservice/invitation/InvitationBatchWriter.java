@@ -0,0 +1,63 @@
+package com.eventflow.eventservice.invitation;
+
+import com.eventflow.eventservice.common.events.DomainEventPublisher;
+import com.eventflow.eventservice.event.Event;
+import com.eventflow.eventservice.security.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Stores a batch of invitations built by {@link InvitationService#createInvitations} and
+ * announces them with one INVITATION_REQUESTED message in the same transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class InvitationBatchWriter {
+
+    private final InvitationRepository invitationRepository;
+    private final DomainEventPublisher eventPublisher;
+
+    /**
+     * Drops the invitations whose address already holds a pending invitation to the event,
+     * then inserts the rest with one batched saveAll.
+     *
+     * @return the stored invitations
+     */
+    @Transactional
+    public List<Invitation> write(Event event, User inviter, List<Invitation> invitations) {
+        Set<String> emails = invitations.stream()
+                .map(Invitation::getInviteeEmail)
+                .collect(Collectors.toSet());
+        Set<String> pending = invitationRepository.findInviteeEmailsByEventIdAndStatus(
+                event.getId(), InvitationStatus.PENDING, emails);
+        List<Invitation> toSave = invitations.stream()
+                .filter(invitation -> !pending.contains(invitation.getInviteeEmail()))
+                .toList();
+        if (toSave.isEmpty()) {
+            return toSave;
+        }
+
+        // Inserted with JDBC batching
+        List<Invitation> saved = invitationRepository.saveAll(toSave);
+
+        eventPublisher.publish(new InvitationBatchRequestedEvent(
+                event.getId(),
+                event.getTitle(),
+                inviter.getId(),
+                inviter.getUsername(),
+                event.getAddress(),
+                event.getCity() != null ? event.getCity() : "",
+                event.getStartAt().toString(),
+                saved.stream()
+                        .map(invitation -> new InvitationBatchRequestedEvent.Invitee(
+                                invitation.getId(), invitation.getInviteeEmail(), invitation.getToken()))
+                        .toList()
+        ));
+        return saved;
+    }
+}
@@ -1,5 +1,7 @@
 package com.eventflow.eventservice.invitation;
 
+import com.eventflow.eventservice.invitation.dto.BulkInvitationCreateRequest;
+import com.eventflow.eventservice.invitation.dto.BulkInvitationResponse;
 import com.eventflow.eventservice.invitation.dto.InvitationCreateRequest;
 import com.eventflow.eventservice.invitation.dto.InvitationResponse;
 import com.eventflow.eventservice.security.User;
@@ -39,6 +41,19 @@ public class InvitationController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/events/{eventId}/invitations/bulk")
+    @PreAuthorize("hasAnyRole('USER', 'ORGANIZER', 'ADMIN')")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Invite a list of emails to an event in one request")
+    public ResponseEntity<BulkInvitationResponse> createInvitations(
+            @PathVariable UUID eventId,
+            @Valid @RequestBody BulkInvitationCreateRequest request,
+            @AuthenticationPrincipal User currentUser
+    ) {
+        BulkInvitationResponse response = invitationService.createInvitations(eventId, request, currentUser);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     @GetMapping("/events/{eventId}/invitations")
     @PreAuthorize("hasAnyRole('USER', 'ORGANIZER', 'ADMIN')")
     @SecurityRequirement(name = "bearerAuth")
@@ -1,20 +1,30 @@
 package com.eventflow.eventservice.invitation;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
 public interface InvitationRepository extends JpaRepository<Invitation, UUID> {
     
-    Optional<Invitation> findByToken(String token);
+    Optional<Invitation> findByTokenHash(byte[] tokenHash);
     
     List<Invitation> findByEventIdOrderByCreatedAtDesc(UUID eventId);
     
     List<Invitation> findByEventIdAndInviterUserIdOrderByCreatedAtDesc(UUID eventId, UUID inviterUserId);
     
     boolean existsByEventIdAndInviteeEmailAndStatus(UUID eventId, String inviteeEmail, InvitationStatus status);
+
+    /**
+     * Which of the given emails already have an invitation in the given status for the event.
+     */
+    @Query("SELECT i.inviteeEmail FROM Invitation i " +
+           "WHERE i.eventId = :eventId AND i.status = :status AND i.inviteeEmail IN :emails")
+    Set<String> findInviteeEmailsByEventIdAndStatus(UUID eventId, InvitationStatus status, Collection<String> emails);
 }
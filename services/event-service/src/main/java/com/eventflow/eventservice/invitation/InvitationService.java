@@ -3,6 +3,8 @@ package com.eventflow.eventservice.invitation;
 import com.eventflow.eventservice.event.Event;
 import com.eventflow.eventservice.event.EventRepository;
 import com.eventflow.eventservice.event.EventStatus;
+import com.eventflow.eventservice.invitation.dto.BulkInvitationCreateRequest;
+import com.eventflow.eventservice.invitation.dto.BulkInvitationResponse;
 import com.eventflow.eventservice.invitation.dto.InvitationCreateRequest;
 import com.eventflow.eventservice.invitation.dto.InvitationResponse;
 import com.eventflow.eventservice.common.events.DomainEventPublisher;
@@ -15,16 +17,16 @@ import com.eventflow.eventservice.common.exception.BusinessException;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
-import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -39,11 +41,8 @@ public class InvitationService {
     private final EventRepository eventRepository;
     private final DomainEventPublisher eventPublisher;
     private final RegistrationRepository registrationRepository;
-    private final RestTemplate restTemplate;
-    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
-    
-    @Value("${services.user-service.url:http://user-service:8081}")
-    private String userServiceUrl;
+    private final UserServiceClient userServiceClient;
+    private final InvitationBatchWriter invitationBatchWriter;
 
     @Transactional
     public InvitationResponse createInvitation(UUID eventId, InvitationCreateRequest request, User currentUser) {
@@ -59,13 +58,14 @@ public class InvitationService {
             throw new IllegalArgumentException("A pending invitation already exists for this email");
         }
 
-        String token = generateSecureToken();
+        String token = InvitationTokens.generate();
 
         Invitation invitation = Invitation.builder()
                 .eventId(eventId)
                 .inviterUserId(currentUser.getId())
                 .inviteeEmail(request.getEmail().toLowerCase())
                 .token(token)
+                .tokenHash(InvitationTokens.hash(token))
                 .status(InvitationStatus.PENDING)
                 .createdAt(LocalDateTime.now())
                 .expiresAt(LocalDateTime.now().plusHours(48))
@@ -80,6 +80,52 @@ public class InvitationService {
         return mapToResponse(invitation);
     }
 
+    /**
+     * Invites a list of addresses with one lookup of the pending invitations among them, one
+     * batched insert, and one INVITATION_REQUESTED message for all of them (see
+     * {@link InvitationBatchWriter}). Addresses repeated in the request or already holding a
+     * pending invitation are skipped. Invitees who already have an account are looked up with
+     * one call to user-service once the invitations have committed, so the transaction does
+     * not stay open across the HTTP call.
+     */
+    public BulkInvitationResponse createInvitations(UUID eventId, BulkInvitationCreateRequest request, User currentUser) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new IllegalArgumentException("Event not found"));
+
+        Set<String> emails = new LinkedHashSet<>();
+        request.getEmails().forEach(email -> emails.add(email.trim().toLowerCase()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<String> tokens = InvitationTokens.generate(emails.size());
+        List<Invitation> invitations = new ArrayList<>(emails.size());
+        for (String email : emails) {
+            String token = tokens.get(invitations.size());
+            invitations.add(Invitation.builder()
+                    .eventId(eventId)
+                    .inviterUserId(currentUser.getId())
+                    .inviteeEmail(email)
+                    .token(token)
+                    .tokenHash(InvitationTokens.hash(token))
+                    .status(InvitationStatus.PENDING)
+                    .createdAt(now)
+                    .expiresAt(now.plusHours(48))
+                    .build());
+        }
+
+        List<Invitation> saved = invitationBatchWriter.write(event, currentUser, invitations);
+        Set<String> invited = saved.stream().map(Invitation::getInviteeEmail).collect(Collectors.toSet());
+        List<String> skipped = emails.stream().filter(email -> !invited.contains(email)).toList();
+
+        log.info("User {} sent {} invitations for event {}, {} skipped",
+                currentUser.getUsername(), saved.size(), eventId, skipped.size());
+
+        return BulkInvitationResponse.builder()
+                .invitations(saved.stream().map(this::mapToResponse).toList())
+                .skippedEmails(skipped)
+                .existingUserEmails(new ArrayList<>(userServiceClient.existingEmails(invited)))
+                .build();
+    }
+
     @Transactional(readOnly = true)
     public List<InvitationResponse> getEventInvitations(UUID eventId, User currentUser) {
         Event event = eventRepository.findById(eventId)
@@ -99,7 +145,7 @@ public class InvitationService {
     }
 
     public Map<String, Object> verifyInvitation(String token) {
-        Invitation invitation = invitationRepository.findByToken(token)
+        Invitation invitation = invitationRepository.findByTokenHash(InvitationTokens.hash(token))
                 .orElseThrow(() -> new IllegalArgumentException("Invalid invitation token"));
 
         // Validate status
@@ -115,7 +161,7 @@ public class InvitationService {
         Event event = eventRepository.findById(invitation.getEventId())
                 .orElseThrow(() -> new IllegalArgumentException("Event not found"));
         
-        boolean userExists = checkIfUserExists(invitation.getInviteeEmail());
+        boolean userExists = userServiceClient.emailExists(invitation.getInviteeEmail());
 
         Map<String, Object> response = new HashMap<>();
         response.put("eventId", event.getId());
@@ -129,20 +175,9 @@ public class InvitationService {
         return response;
     }
     
-    private boolean checkIfUserExists(String email) {
-        try {
-            String url = userServiceUrl + "/api/auth/check-email?email=" + email;
-            Boolean exists = restTemplate.getForObject(url, Boolean.class);
-            return exists != null && exists;
-        } catch (Exception e) {
-            log.error("Failed to check if user exists: {}", e.getMessage());
-            return false;
-        }
-    }
-
     @Transactional
     public Map<String, Object> acceptAndRegisterForEvent(String token, User currentUser) {
-        Invitation invitation = invitationRepository.findByToken(token)
+        Invitation invitation = invitationRepository.findByTokenHash(InvitationTokens.hash(token))
                 .orElseThrow(() -> new IllegalArgumentException("Invalid invitation token"));
 
         if (invitation.getStatus() != InvitationStatus.PENDING) {
@@ -175,8 +210,7 @@ public class InvitationService {
                 invitation.getEventId(), currentUser.getId(), RegistrationStatus.REGISTERED);
         
         if (!alreadyRegistered) {
-            long activeRegistrations = registrationRepository.countActiveRegistrationsByEventId(invitation.getEventId());
-            if (activeRegistrations >= event.getCapacity()) {
+            if (eventRepository.incrementRegisteredCount(invitation.getEventId()) == 0) {
                 throw new BusinessException("Event is full");
             }
 
@@ -219,7 +253,7 @@ public class InvitationService {
 
     @Transactional
     public Map<String, Object> declineInvitation(String token) {
-        Invitation invitation = invitationRepository.findByToken(token)
+        Invitation invitation = invitationRepository.findByTokenHash(InvitationTokens.hash(token))
                 .orElseThrow(() -> new IllegalArgumentException("Invalid invitation token"));
 
         Map<String, Object> response = new HashMap<>();
@@ -272,16 +306,6 @@ public class InvitationService {
         }
     }
 
-    private String generateSecureToken() {
-        byte[] randomBytes = new byte[64];
-        SECURE_RANDOM.nextBytes(randomBytes);
-        StringBuilder sb = new StringBuilder();
-        for (byte b : randomBytes) {
-            sb.append(String.format("%02x", b));
-        }
-        return sb.toString();
-    }
-
     private InvitationResponse mapToResponse(Invitation invitation) {
         return InvitationResponse.builder()
                 .id(invitation.getId())
@@ -0,0 +1,50 @@
+package com.eventflow.eventservice.invitation;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Invitation tokens: 64 random bytes, hex encoded. Only the SHA-256 digest of a token is
+ * stored, so lookups hash the token from the link and search by digest.
+ */
+public final class InvitationTokens {
+
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    private static final HexFormat HEX = HexFormat.of();
+    private static final int TOKEN_BYTES = 64;
+
+    private InvitationTokens() {
+    }
+
+    public static String generate() {
+        byte[] randomBytes = new byte[TOKEN_BYTES];
+        SECURE_RANDOM.nextBytes(randomBytes);
+        return HEX.formatHex(randomBytes);
+    }
+
+    /**
+     * Draws the random bytes for all tokens at once instead of one call per token.
+     */
+    public static List<String> generate(int count) {
+        byte[] randomBytes = new byte[TOKEN_BYTES * count];
+        SECURE_RANDOM.nextBytes(randomBytes);
+        List<String> tokens = new ArrayList<>(count);
+        for (int offset = 0; offset < randomBytes.length; offset += TOKEN_BYTES) {
+            tokens.add(HEX.formatHex(randomBytes, offset, offset + TOKEN_BYTES));
+        }
+        return tokens;
+    }
+
+    public static byte[] hash(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
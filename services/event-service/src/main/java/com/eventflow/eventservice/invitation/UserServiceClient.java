@@ -0,0 +1,131 @@
+package com.eventflow.eventservice.invitation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asks user-service which emails belong to an account, in one call per lookup however many
+ * emails it covers. Answers are cached briefly: an existing account for minutes, since accounts
+ * are not deleted, and a missing one only for seconds, so someone who signs up after opening an
+ * invitation is recognised almost immediately.
+ */
+@Component
+public class UserServiceClient {
+
+    private static final Logger log = LoggerFactory.getLogger(UserServiceClient.class);
+    private static final ParameterizedTypeReference<Map<String, Boolean>> ANSWERS = new ParameterizedTypeReference<>() {
+    };
+
+    private final Map<String, CacheEntry> emailCache = new ConcurrentHashMap<>();
+
+    private final RestTemplate restTemplate;
+    private final String userServiceUrl;
+    private final int maxSize;
+    private final long existingTtlMillis;
+    private final long missingTtlMillis;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public UserServiceClient(
+            RestTemplate restTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${services.user-service.url:http://user-service:8081}") String userServiceUrl,
+            @Value("${services.user-service.email-cache.max-size:10000}") int maxSize,
+            @Value("${services.user-service.email-cache.existing-ttl-seconds:300}") long existingTtlSeconds,
+            @Value("${services.user-service.email-cache.missing-ttl-seconds:10}") long missingTtlSeconds
+    ) {
+        this.restTemplate = restTemplate;
+        this.userServiceUrl = userServiceUrl;
+        this.maxSize = maxSize;
+        this.existingTtlMillis = TimeUnit.SECONDS.toMillis(existingTtlSeconds);
+        this.missingTtlMillis = TimeUnit.SECONDS.toMillis(missingTtlSeconds);
+        this.cacheHits = Counter.builder("event.user.email.cache").tag("result", "hit").register(meterRegistry);
+        this.cacheMisses = Counter.builder("event.user.email.cache").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("event.user.email.cache.size", emailCache, Map::size).register(meterRegistry);
+    }
+
+    public boolean emailExists(String email) {
+        return !existingEmails(List.of(email)).isEmpty();
+    }
+
+    /**
+     * Returns the given emails that belong to an account. When user-service cannot be reached
+     * the emails without a cached answer are treated as unknown and left out.
+     */
+    public Set<String> existingEmails(Collection<String> emails) {
+        long now = System.currentTimeMillis();
+        Set<String> existing = new HashSet<>();
+        List<String> unknown = new ArrayList<>();
+        for (String email : emails) {
+            CacheEntry cached = emailCache.get(email);
+            if (cached != null && now < cached.expiresAt()) {
+                cacheHits.increment();
+                if (cached.exists()) {
+                    existing.add(email);
+                }
+            } else {
+                unknown.add(email);
+            }
+        }
+        if (unknown.isEmpty()) {
+            return existing;
+        }
+
+        cacheMisses.increment(unknown.size());
+        Map<String, Boolean> answers;
+        try {
+            answers = restTemplate.exchange(userServiceUrl + "/internal/auth/check-emails", HttpMethod.POST,
+                    new HttpEntity<>(Map.of("emails", unknown)), ANSWERS).getBody();
+        } catch (RestClientException e) {
+            log.error("Failed to check if users exist: {}", e.getMessage());
+            return existing;
+        }
+        if (answers == null) {
+            return existing;
+        }
+
+        evictIfFull(now);
+        answers.forEach((email, exists) -> {
+            emailCache.put(email, new CacheEntry(exists, now + (exists ? existingTtlMillis : missingTtlMillis)));
+            if (exists) {
+                existing.add(email);
+            }
+        });
+        return existing;
+    }
+
+    private void evictIfFull(long now) {
+        if (emailCache.size() < maxSize) {
+            return;
+        }
+        emailCache.values().removeIf(entry -> entry.expiresAt() <= now);
+        Iterator<String> keys = emailCache.keySet().iterator();
+        while (emailCache.size() > maxSize * 9 / 10 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record CacheEntry(boolean exists, long expiresAt) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.eventflow.eventservice.invitation.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkInvitationCreateRequest {
+
+    @NotEmpty(message = "At least one email is required")
+    @Size(max = 1000, message = "At most 1000 emails can be invited at once")
+    private List<@NotBlank(message = "Email is required") @Email(message = "Invalid email format") String> emails;
+}
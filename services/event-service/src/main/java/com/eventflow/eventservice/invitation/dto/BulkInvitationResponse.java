@@ -0,0 +1,19 @@
+package com.eventflow.eventservice.invitation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkInvitationResponse {
+
+    private List<InvitationResponse> invitations;
+    private List<String> skippedEmails;
+    private List<String> existingUserEmails;
+}
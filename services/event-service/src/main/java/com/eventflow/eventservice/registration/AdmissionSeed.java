@@ -0,0 +1,9 @@
+package com.eventflow.eventservice.registration;
+
+import java.util.UUID;
+
+/**
+ * Remaining capacity of an event as stored in Postgres, used to seed {@link RegistrationAdmissionGate}.
+ */
+public record AdmissionSeed(UUID eventId, Integer remaining) {
+}
@@ -0,0 +1,58 @@
+package com.eventflow.eventservice.registration;
+
+import com.eventflow.eventservice.event.Event;
+import lombok.Getter;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A registration that holds an admission permit and waits for the next batch flush.
+ * {@link RegistrationBatchWriter} records the outcome, {@link RegistrationAdmissionGate}
+ * completes the future once the batch transaction has committed.
+ */
+@Getter
+class PendingRegistration {
+
+    private final UUID eventId;
+    private final UUID userId;
+    private final CompletableFuture<Registration> result = new CompletableFuture<>();
+
+    private Registration registration;
+    private Event event;
+    private String rejection;
+    private boolean full;
+
+    PendingRegistration(UUID eventId, UUID userId) {
+        this.eventId = eventId;
+        this.userId = userId;
+    }
+
+    void accept(Registration registration, Event event) {
+        this.registration = registration;
+        this.event = event;
+    }
+
+    void reject(String rejection) {
+        this.rejection = rejection;
+    }
+
+    void rejectFull() {
+        this.rejection = "Event is full";
+        this.full = true;
+    }
+
+    /**
+     * Forgets the outcome of a write that rolled back, so the registration can be written again.
+     */
+    void reset() {
+        this.registration = null;
+        this.event = null;
+        this.rejection = null;
+        this.full = false;
+    }
+
+    boolean isAccepted() {
+        return registration != null;
+    }
+}
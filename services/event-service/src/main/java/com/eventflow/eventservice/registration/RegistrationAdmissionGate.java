@@ -0,0 +1,289 @@
+package com.eventflow.eventservice.registration;
+
+import com.eventflow.eventservice.common.exception.BusinessException;
+import com.eventflow.eventservice.common.metrics.TimedOperation;
+import com.eventflow.eventservice.event.Event;
+import com.eventflow.eventservice.event.EventRepository;
+import com.eventflow.eventservice.event.EventStatus;
+import com.eventflow.eventservice.security.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * High-contention registration mode for flash-sale style events.
+ * Keeps a permit counter per event seeded from {@code registered_count}, so a full event is
+ * rejected without touching Postgres. Admitted registrations are queued and written by
+ * {@link RegistrationBatchWriter} in batches. The conditional counter update in the database
+ * stays the source of truth; the permits only filter the traffic in front of it.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "registration.admission.enabled", havingValue = "true")
+public class RegistrationAdmissionGate {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistrationAdmissionGate.class);
+
+    private final EventRepository eventRepository;
+    private final RegistrationBatchWriter batchWriter;
+
+    private final Map<UUID, AtomicInteger> permits = new ConcurrentHashMap<>();
+    private final BlockingQueue<PendingRegistration> queue = new LinkedBlockingQueue<>();
+
+    @Value("${registration.admission.batch-size:200}")
+    private int batchSize;
+
+    @Value("${registration.admission.linger-ms:5}")
+    private long lingerMs;
+
+    @Value("${registration.admission.timeout-ms:10000}")
+    private long timeoutMs;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    @PostConstruct
+    void start() {
+        running = true;
+        flusher = new Thread(this::drainLoop, "registration-admission-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        // Let the flusher finish the batch in flight instead of interrupting a transaction
+        running = false;
+        flusher.join(timeoutMs);
+        List<PendingRegistration> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(p -> p.getResult().completeExceptionally(
+                new BusinessException("Registration service is shutting down")));
+    }
+
+    /**
+     * Reseeds every permit counter from the database once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        List<AdmissionSeed> seeds = eventRepository.findAdmissionSeedsByStatus(EventStatus.PLANNED);
+        permits.clear();
+        seeds.forEach(seed -> permits.put(seed.eventId(), new AtomicInteger(Math.max(0, seed.remaining()))));
+        log.info("Admission gate reconciled with {} planned events", seeds.size());
+    }
+
+    @TimedOperation(component = "registration", operation = "register-admitted")
+    public RegistrationResponse register(UUID eventId, User currentUser) {
+        AtomicInteger available = permits.computeIfAbsent(eventId, this::seed);
+        if (!tryAcquire(available)) {
+            throw new BusinessException("Event is full");
+        }
+
+        PendingRegistration pending = new PendingRegistration(eventId, currentUser.getId());
+        queue.add(pending);
+
+        try {
+            return mapToResponse(pending.getResult().get(timeoutMs, TimeUnit.MILLISECONDS));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof BusinessException businessException) {
+                throw businessException;
+            }
+            throw new IllegalStateException("Registration failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new BusinessException("Registration is still being processed, please check again shortly");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for registration", e);
+        }
+    }
+
+    /**
+     * Returns a spot freed by an unregistration. Inside a transaction the spot is returned only
+     * once it has committed, so a rollback cannot leave more permits than free spots.
+     * Events that are not tracked are seeded lazily.
+     */
+    public void release(UUID eventId) {
+        afterCommit(() -> {
+            AtomicInteger available = permits.get(eventId);
+            if (available != null) {
+                available.incrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Applies a committed capacity change. The counter is shifted by the difference rather than
+     * reseeded, so permits held by registrations still waiting in the queue stay accounted for.
+     */
+    public void adjustCapacity(UUID eventId, int delta) {
+        afterCommit(() -> {
+            AtomicInteger available = permits.get(eventId);
+            if (available != null) {
+                available.addAndGet(delta);
+            }
+        });
+    }
+
+    /**
+     * Drops the permits of events that were finished, cancelled, reopened or deleted once the
+     * change has committed. A reopened event is seeded again on its next registration.
+     */
+    public void evict(Collection<UUID> eventIds) {
+        afterCommit(() -> eventIds.forEach(permits::remove));
+    }
+
+    public void invalidate(UUID eventId) {
+        permits.remove(eventId);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private AtomicInteger seed(UUID eventId) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new BusinessException("Event not found"));
+        return new AtomicInteger(Math.max(0, event.getCapacity() - event.getRegisteredCount()));
+    }
+
+    private boolean tryAcquire(AtomicInteger available) {
+        int current;
+        do {
+            current = available.get();
+            if (current <= 0) {
+                return false;
+            }
+        } while (!available.compareAndSet(current, current - 1));
+        return true;
+    }
+
+    private void drainLoop() {
+        List<PendingRegistration> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingRegistration first = queue.poll(250, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Linger briefly so a burst of requests shares one transaction
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingRegistration next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(p -> p.getResult().completeExceptionally(e));
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingRegistration> batch) {
+        try {
+            batchWriter.write(batch);
+        } catch (RuntimeException e) {
+            // One conflicting row rolls back the whole batch, so write the rows one by one instead
+            log.warn("Failed to write batch of {} registrations, writing them one by one", batch.size(), e);
+            batch.forEach(this::flushOne);
+            return;
+        }
+
+        batch.forEach(this::complete);
+        log.debug("Flushed batch of {} registrations", batch.size());
+    }
+
+    /**
+     * Writes one registration on its own. A constraint violation means a conflicting row was
+     * committed concurrently (e.g. the user accepted an invitation to the same event), so the
+     * write is tried once more and rejects the registration with the matching reason.
+     */
+    private void flushOne(PendingRegistration p) {
+        RuntimeException failure = null;
+        for (int attempt = 0; attempt < 2; attempt++) {
+            p.reset();
+            try {
+                batchWriter.write(List.of(p));
+                complete(p);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                failure = e;
+            } catch (RuntimeException e) {
+                failure = e;
+                break;
+            }
+        }
+        log.error("Failed to write registration of user {} to event {}", p.getUserId(), p.getEventId(), failure);
+        invalidate(p.getEventId());
+        p.getResult().completeExceptionally(failure);
+    }
+
+    private void complete(PendingRegistration p) {
+        if (p.isAccepted()) {
+            p.getResult().complete(p.getRegistration());
+            return;
+        }
+        if (p.isFull()) {
+            invalidate(p.getEventId());
+        } else {
+            release(p.getEventId());
+        }
+        p.getResult().completeExceptionally(new BusinessException(p.getRejection()));
+    }
+
+    private RegistrationResponse mapToResponse(Registration registration) {
+        return RegistrationResponse.builder()
+                .id(registration.getId())
+                .eventId(registration.getEventId())
+                .userId(registration.getUserId())
+                .status(registration.getStatus())
+                .createdAt(registration.getCreatedAt())
+                .build();
+    }
+}
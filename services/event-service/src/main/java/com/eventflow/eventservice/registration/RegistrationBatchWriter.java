@@ -0,0 +1,124 @@
+package com.eventflow.eventservice.registration;
+
+import com.eventflow.eventservice.common.events.DomainEventPublisher;
+import com.eventflow.eventservice.common.events.UserRegisteredToEvent;
+import com.eventflow.eventservice.event.Event;
+import com.eventflow.eventservice.event.EventRepository;
+import com.eventflow.eventservice.event.EventStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes a batch of admitted registrations in one transaction: one event lookup, one
+ * existing-registration lookup and one counter update per event, and a single saveAll.
+ * The registration events go to the outbox in the same transaction, so they commit or roll
+ * back together with the registrations.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "registration.admission.enabled", havingValue = "true")
+public class RegistrationBatchWriter {
+
+    private final RegistrationRepository registrationRepository;
+    private final EventRepository eventRepository;
+    private final DomainEventPublisher eventPublisher;
+
+    @Transactional
+    public void write(List<PendingRegistration> batch) {
+        Map<UUID, List<PendingRegistration>> byEvent = batch.stream()
+                .collect(Collectors.groupingBy(PendingRegistration::getEventId, LinkedHashMap::new, Collectors.toList()));
+
+        Map<UUID, Event> events = eventRepository.findAllById(byEvent.keySet())
+                .stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+
+        List<Registration> toSave = new ArrayList<>();
+        byEvent.forEach((eventId, pending) -> toSave.addAll(admit(events.get(eventId), eventId, pending)));
+
+        registrationRepository.saveAll(toSave);
+
+        for (PendingRegistration p : batch) {
+            if (p.isAccepted()) {
+                eventPublisher.publish(new UserRegisteredToEvent(
+                        p.getEventId(),
+                        p.getUserId(),
+                        p.getEvent().getOrganizerId(),
+                        p.getEvent().getTitle()
+                ));
+            }
+        }
+    }
+
+    private List<Registration> admit(Event event, UUID eventId, List<PendingRegistration> pending) {
+        if (event == null) {
+            pending.forEach(p -> p.reject("Event not found"));
+            return List.of();
+        }
+        if (event.getStatus() == EventStatus.CANCELLED || event.getStatus() == EventStatus.FINISHED) {
+            pending.forEach(p -> p.reject("Cannot register to cancelled or finished event"));
+            return List.of();
+        }
+
+        Set<UUID> userIds = pending.stream().map(PendingRegistration::getUserId).collect(Collectors.toSet());
+        Map<UUID, Registration> existing = registrationRepository.findByEventIdAndUserIdIn(eventId, userIds)
+                .stream()
+                .collect(Collectors.toMap(Registration::getUserId, Function.identity()));
+
+        Set<UUID> seen = new HashSet<>();
+        List<PendingRegistration> admitted = new ArrayList<>();
+        for (PendingRegistration p : pending) {
+            Registration current = existing.get(p.getUserId());
+            if (event.getOrganizerId().equals(p.getUserId())) {
+                p.reject("Organizer cannot register as attendee to their own event");
+            } else if (!seen.add(p.getUserId())
+                    || (current != null && current.getStatus() == RegistrationStatus.REGISTERED)) {
+                p.reject("Already registered to this event");
+            } else {
+                admitted.add(p);
+            }
+        }
+        if (admitted.isEmpty()) {
+            return List.of();
+        }
+
+        if (eventRepository.incrementRegisteredCountBy(eventId, admitted.size()) == 0) {
+            // The gate ran ahead of the database (e.g. invitations took spots), claim what is left one by one
+            admitted.removeIf(p -> {
+                if (eventRepository.incrementRegisteredCount(eventId) == 0) {
+                    p.rejectFull();
+                    return true;
+                }
+                return false;
+            });
+        }
+
+        List<Registration> registrations = new ArrayList<>(admitted.size());
+        for (PendingRegistration p : admitted) {
+            Registration registration = existing.get(p.getUserId());
+            if (registration != null) {
+                registration.setStatus(RegistrationStatus.REGISTERED);
+            } else {
+                registration = Registration.builder()
+                        .eventId(eventId)
+                        .userId(p.getUserId())
+                        .status(RegistrationStatus.REGISTERED)
+                        .build();
+            }
+            p.accept(registration, event);
+            registrations.add(registration);
+        }
+        return registrations;
+    }
+}
@@ -7,6 +7,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -24,6 +25,7 @@ import java.util.UUID;
 public class RegistrationController {
 
     private final RegistrationService registrationService;
+    private final ObjectProvider<RegistrationAdmissionGate> admissionGate;
 
     @PostMapping
     @PreAuthorize("hasRole('USER')")
@@ -32,7 +34,10 @@ public class RegistrationController {
             @PathVariable UUID eventId,
             @AuthenticationPrincipal User currentUser
     ) {
-        RegistrationResponse response = registrationService.registerToEvent(eventId, currentUser);
+        RegistrationAdmissionGate gate = admissionGate.getIfAvailable();
+        RegistrationResponse response = gate != null
+                ? gate.register(eventId, currentUser)
+                : registrationService.registerToEvent(eventId, currentUser);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
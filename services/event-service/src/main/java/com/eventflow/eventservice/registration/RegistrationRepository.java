@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,6 +20,8 @@ public interface RegistrationRepository extends JpaRepository<Registration, UUID
     
     Optional<Registration> findByEventIdAndUserId(UUID eventId, UUID userId);
     
+    List<Registration> findByEventIdAndUserIdIn(UUID eventId, Collection<UUID> userIds);
+    
     boolean existsByEventIdAndUserIdAndStatus(UUID eventId, UUID userId, RegistrationStatus status);
     
     @Query("SELECT COUNT(r) FROM Registration r WHERE r.eventId = :eventId AND r.status = 'REGISTERED'")
@@ -4,6 +4,7 @@ import com.eventflow.eventservice.common.events.DomainEventPublisher;
 import com.eventflow.eventservice.common.events.UserRegisteredToEvent;
 import com.eventflow.eventservice.common.events.UserUnregisteredFromEvent;
 import com.eventflow.eventservice.common.exception.BusinessException;
+import com.eventflow.eventservice.common.metrics.TimedOperation;
 import com.eventflow.eventservice.event.Event;
 import com.eventflow.eventservice.event.EventStatus;
 import com.eventflow.eventservice.event.EventRepository;
@@ -13,6 +14,7 @@ import com.eventflow.eventservice.registration.RegistrationStatus;
 import com.eventflow.eventservice.registration.RegistrationRepository;
 import com.eventflow.eventservice.security.User;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,8 +30,10 @@ public class RegistrationService {
     private final RegistrationRepository registrationRepository;
     private final EventRepository eventRepository;
     private final DomainEventPublisher eventPublisher;
+    private final ObjectProvider<RegistrationAdmissionGate> admissionGate;
 
     @Transactional
+    @TimedOperation(component = "registration", operation = "register")
     public RegistrationResponse registerToEvent(UUID eventId, User currentUser) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new BusinessException("Event not found"));
@@ -47,8 +51,7 @@ public class RegistrationService {
             throw new BusinessException("Already registered to this event");
         }
 
-        long activeRegistrations = registrationRepository.countActiveRegistrationsByEventId(eventId);
-        if (activeRegistrations >= event.getCapacity()) {
+        if (eventRepository.incrementRegisteredCount(eventId) == 0) {
             throw new BusinessException("Event is full");
         }
 
@@ -71,6 +74,7 @@ public class RegistrationService {
     }
 
     @Transactional
+    @TimedOperation(component = "registration", operation = "unregister")
     public void unregisterFromEvent(UUID eventId, User currentUser) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new BusinessException("Event not found"));
@@ -84,6 +88,8 @@ public class RegistrationService {
 
         registration.setStatus(RegistrationStatus.CANCELLED);
         registrationRepository.save(registration);
+        eventRepository.decrementRegisteredCount(eventId);
+        admissionGate.ifAvailable(gate -> gate.release(eventId));
 
         eventPublisher.publish(new UserUnregisteredFromEvent(
                 eventId, 
@@ -94,6 +100,7 @@ public class RegistrationService {
     }
 
     @Transactional(readOnly = true)
+    @TimedOperation(component = "registration", operation = "list")
     public List<RegistrationResponse> getEventRegistrations(UUID eventId, User currentUser) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new BusinessException("Event not found"));
@@ -110,6 +117,7 @@ public class RegistrationService {
     }
 
     @Transactional(readOnly = true)
+    @TimedOperation(component = "registration", operation = "get-own")
     public RegistrationResponse getMyRegistration(UUID eventId, User currentUser) {
         return registrationRepository.findByEventIdAndUserId(eventId, currentUser.getId())
                 .map(this::mapToResponse)
@@ -20,6 +20,7 @@ import java.util.Collections;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final InternalAssertionVerifier assertionVerifier;
 
     @Override
     protected void doFilterInternal(
@@ -28,45 +29,57 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             FilterChain filterChain
     ) throws ServletException, IOException {
         
+        if (SecurityContextHolder.getContext().getAuthentication() == null
+                && assertionVerifier.isTrusted(request)) {
+            // The gateway already verified the JWT and signed the identity headers
+            User user = new User();
+            String email = request.getHeader("X-User-Email");
+            user.setEmail(email != null && !email.isEmpty() ? email : request.getHeader("X-Username"));
+            user.setRole(request.getHeader("X-User-Role"));
+            String userIdStr = request.getHeader("X-User-Id");
+            if (userIdStr != null && !userIdStr.isEmpty()) {
+                user.setId(java.util.UUID.fromString(userIdStr));
+            }
+            authenticate(request, user);
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String username;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
-        username = jwtTokenProvider.extractUsername(jwt);
+        // One verified parse for all claims instead of one per extracted field
+        JwtPrincipal principal = jwtTokenProvider.parsePrincipal(authHeader.substring(7));
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            String role = jwtTokenProvider.extractRole(jwt);
-            String userIdStr = jwtTokenProvider.extractUserId(jwt);
-            String email = jwtTokenProvider.extractEmail(jwt);
-            
-            // Validate token
-            if (jwtTokenProvider.validateToken(jwt)) {
-                // Create User object from JWT claims
-                User user = new User();
-                user.setEmail(email != null ? email : username);
-                user.setRole(role);
-                if (userIdStr != null) {
-                    user.setId(java.util.UUID.fromString(userIdStr));
-                }
-                
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        user,
-                        null,
-                        user.getAuthorities()
-                );
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+        if (principal != null && principal.username() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // Create User object from JWT claims
+            User user = new User();
+            user.setEmail(principal.email() != null ? principal.email() : principal.username());
+            user.setRole(principal.role());
+            if (principal.userId() != null) {
+                user.setId(java.util.UUID.fromString(principal.userId()));
             }
+            
+            authenticate(request, user);
         }
         
         filterChain.doFilter(request, response);
     }
+
+    private void authenticate(HttpServletRequest request, User user) {
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                user,
+                null,
+                user.getAuthorities()
+        );
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
 }
 
 
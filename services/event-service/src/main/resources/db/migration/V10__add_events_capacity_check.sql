@@ -0,0 +1,4 @@
+-- Capacity can no longer be lowered below the spots already taken; raise it on rows that already are
+UPDATE events SET capacity = registered_count WHERE registered_count > capacity;
+
+ALTER TABLE events ADD CONSTRAINT chk_events_registered_within_capacity CHECK (registered_count <= capacity);
@@ -0,0 +1,5 @@
+-- Support keyset pagination of the event listing ordered by (start_at, id)
+CREATE INDEX idx_events_start_at_id ON events(start_at, id);
+
+-- Superseded by the composite index above
+DROP INDEX IF EXISTS idx_events_start_at;
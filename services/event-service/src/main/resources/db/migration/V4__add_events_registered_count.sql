@@ -0,0 +1,11 @@
+-- Denormalized active registration counter used for atomic capacity enforcement
+ALTER TABLE events ADD COLUMN registered_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE events e
+SET registered_count = (
+    SELECT COUNT(*)
+    FROM registrations r
+    WHERE r.event_id = e.id AND r.status = 'REGISTERED'
+);
+
+ALTER TABLE events ADD CONSTRAINT chk_events_registered_count CHECK (registered_count >= 0);
@@ -0,0 +1,10 @@
+-- Transactional outbox: domain events are written with the business change and relayed to RabbitMQ
+CREATE TABLE outbox_messages (
+    id UUID PRIMARY KEY,
+    event_type VARCHAR(50) NOT NULL,
+    routing_key VARCHAR(100) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_outbox_messages_created_at ON outbox_messages(created_at);
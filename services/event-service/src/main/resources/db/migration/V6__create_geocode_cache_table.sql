@@ -0,0 +1,9 @@
+-- Resolved coordinates per normalized address, kept across restarts and shared by all instances
+CREATE TABLE geocode_cache (
+    address_key VARCHAR(500) PRIMARY KEY,
+    latitude DOUBLE PRECISION NOT NULL,
+    longitude DOUBLE PRECISION NOT NULL,
+    resolved_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_geocode_cache_resolved_at ON geocode_cache(resolved_at);
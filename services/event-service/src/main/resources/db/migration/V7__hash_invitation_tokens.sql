@@ -0,0 +1,10 @@
+-- Invitations are looked up by the SHA-256 digest of their token; the token itself is no longer stored
+ALTER TABLE invitations ADD COLUMN token_hash BYTEA;
+
+UPDATE invitations SET token_hash = sha256(convert_to(token, 'UTF8'));
+
+ALTER TABLE invitations ALTER COLUMN token_hash SET NOT NULL;
+ALTER TABLE invitations ADD CONSTRAINT uk_invitation_token_hash UNIQUE (token_hash);
+
+DROP INDEX idx_invitation_token;
+ALTER TABLE invitations DROP COLUMN token;
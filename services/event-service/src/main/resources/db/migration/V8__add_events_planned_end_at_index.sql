@@ -0,0 +1,2 @@
+-- Lets the status scheduler find planned events that have ended without scanning finished ones
+CREATE INDEX idx_events_planned_end_at ON events(end_at) WHERE status = 'PLANNED';
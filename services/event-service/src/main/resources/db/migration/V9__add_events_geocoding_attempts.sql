@@ -0,0 +1,2 @@
+-- Failed lookups of the current address, so startup stops re-queueing addresses that never resolve
+ALTER TABLE events ADD COLUMN geocoding_attempts INTEGER NOT NULL DEFAULT 0;
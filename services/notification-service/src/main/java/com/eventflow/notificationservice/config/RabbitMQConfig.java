@@ -3,12 +3,22 @@ package com.eventflow.notificationservice.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Configuration
 @SuppressWarnings({"NullableProblems", "DataFlowIssue"})
@@ -16,6 +26,10 @@ public class RabbitMQConfig {
 
     public static final String EXCHANGE = "eventflow.exchange";
     public static final String QUEUE = "notification.queue";
+    public static final String RETRY_QUEUE = "notification.retry";
+    public static final String DEAD_LETTER_QUEUE = "notification.dlq";
+    public static final String BATCH_CONTAINER_FACTORY = "notificationBatchContainerFactory";
+    public static final String SSE_FANOUT_EXCHANGE = "notification.sse.fanout";
     
     public static final String EVENT_PATTERN = "event.*";
     public static final String REGISTRATION_PATTERN = "registration.*";
@@ -30,6 +44,28 @@ public class RabbitMQConfig {
         return new Queue(QUEUE, true);
     }
 
+    /**
+     * Failed messages waiting for their next attempt. Nothing consumes this queue: each message
+     * carries its backoff as expiration and is dead-lettered back to notification.queue when it
+     * expires, so a retry never holds up the listener.
+     */
+    @Bean
+    public Queue notificationRetryQueue() {
+        return QueueBuilder.durable(RETRY_QUEUE)
+                .deadLetterExchange("")
+                .deadLetterRoutingKey(QUEUE)
+                .build();
+    }
+
+    /**
+     * Messages that kept failing in {@code NotificationEventListener}. The listener publishes
+     * them here itself, one at a time, so the rest of their batch is still acknowledged.
+     */
+    @Bean
+    public Queue notificationDeadLetterQueue() {
+        return new Queue(DEAD_LETTER_QUEUE, true);
+    }
+
     @Bean
     public Binding bindingEventCreated(Queue notificationQueue, TopicExchange eventFlowExchange) {
         return BindingBuilder.bind(notificationQueue)
@@ -51,6 +87,13 @@ public class RabbitMQConfig {
                 .with("event.deleted");
     }
 
+    @Bean
+    public Binding bindingEventLocationResolved(Queue notificationQueue, TopicExchange eventFlowExchange) {
+        return BindingBuilder.bind(notificationQueue)
+                .to(eventFlowExchange)
+                .with("event.location.resolved");
+    }
+
     @Bean
     public Binding bindingRegistrationCreated(Queue notificationQueue, TopicExchange eventFlowExchange) {
         return BindingBuilder.bind(notificationQueue)
@@ -72,6 +115,25 @@ public class RabbitMQConfig {
                 .with("invitation.requested");
     }
 
+    @Bean
+    public FanoutExchange sseFanoutExchange() {
+        return new FanoutExchange(SSE_FANOUT_EXCHANGE, true, false);
+    }
+
+    /**
+     * Exclusive, auto-deleted queue of this instance. Every replica receives every SSE frame
+     * and pushes it to the streams it holds locally.
+     */
+    @Bean
+    public Queue sseFanoutQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy("notification.sse."));
+    }
+
+    @Bean
+    public Binding bindingSseFanout(Queue sseFanoutQueue, FanoutExchange sseFanoutExchange) {
+        return BindingBuilder.bind(sseFanoutQueue).to(sseFanoutExchange);
+    }
+
     @Bean
     public ObjectMapper objectMapper() {
         ObjectMapper mapper = new ObjectMapper();
@@ -84,6 +146,51 @@ public class RabbitMQConfig {
         return new Jackson2JsonMessageConverter(objectMapper);
     }
 
+    /**
+     * Batch listener for notification.queue. A single consumer per instance keeps broker order;
+     * the batch is then split into ordering lanes and processed on {@link #notificationLaneExecutor}.
+     * Failing messages are parked on the retry queue or dead-lettered by the listener itself, so
+     * the container does not retry whole batches; if the listener still throws, the batch is
+     * requeued rather than dropped and already processed messages are skipped by their message id.
+     */
+    @Bean(BATCH_CONTAINER_FACTORY)
+    public SimpleRabbitListenerContainerFactory notificationBatchContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${notification.listener.prefetch:250}") int prefetch,
+            @Value("${notification.listener.batch-size:100}") int batchSize,
+            @Value("${notification.listener.receive-timeout-ms:100}") long receiveTimeoutMs
+    ) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setConcurrentConsumers(1);
+        factory.setMaxConcurrentConsumers(1);
+        factory.setPrefetchCount(Math.max(prefetch, batchSize));
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(receiveTimeoutMs);
+        factory.setAdviceChain();
+        factory.setDefaultRequeueRejected(true);
+        return factory;
+    }
+
+    /**
+     * One worker per lane. Lanes spend most of their time on JDBC and SMTP, so they run on
+     * virtual threads when those are enabled; the pool size still bounds the parallelism.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService notificationLaneExecutor(@Value("${notification.listener.lanes:4}") int lanes,
+                                                    Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return Executors.newFixedThreadPool(lanes,
+                    new VirtualThreadTaskExecutor("notification-lane-").getVirtualThreadFactory());
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(lanes,
+                runnable -> new Thread(runnable, "notification-lane-" + threadNumber.incrementAndGet()));
+    }
+
     @Bean
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory, 
                                         MessageConverter messageConverter) {
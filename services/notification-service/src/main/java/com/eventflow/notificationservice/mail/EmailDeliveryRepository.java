@@ -0,0 +1,38 @@
+package com.eventflow.notificationservice.mail;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Repository
+public interface EmailDeliveryRepository extends JpaRepository<EmailDelivery, UUID> {
+
+    @Query("SELECT d.deliveryKey FROM EmailDelivery d WHERE d.deliveryKey IN :deliveryKeys")
+    Set<String> findExistingDeliveryKeys(Collection<String> deliveryKeys);
+
+    /**
+     * Locks the next due emails. Rows locked by another instance are skipped.
+     */
+    @Query(value = "SELECT * FROM email_deliveries WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+                   "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<EmailDelivery> lockDue(LocalDateTime now, int limit);
+
+    /**
+     * Returns emails claimed by an instance that stopped before recording the outcome.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailDelivery d SET d.status = com.eventflow.notificationservice.mail.EmailDeliveryStatus.PENDING " +
+           "WHERE d.status = com.eventflow.notificationservice.mail.EmailDeliveryStatus.SENDING " +
+           "AND d.claimedAt < :cutoff")
+    int releaseClaimedBefore(LocalDateTime cutoff);
+}
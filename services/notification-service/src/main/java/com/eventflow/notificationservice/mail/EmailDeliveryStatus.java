@@ -0,0 +1,8 @@
+package com.eventflow.notificationservice.mail;
+
+public enum EmailDeliveryStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,38 @@
+package com.eventflow.notificationservice.mail;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Short transactions around the email queue, so no database connection is held while
+ * {@link EmailDispatcher} talks to the SMTP server.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmailDeliveryStore {
+
+    private final EmailDeliveryRepository repository;
+
+    /**
+     * Marks up to {@code limit} due emails as being sent by this instance.
+     */
+    @Transactional
+    public List<EmailDelivery> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailDelivery> due = repository.lockDue(now, limit);
+        due.forEach(delivery -> {
+            delivery.setStatus(EmailDeliveryStatus.SENDING);
+            delivery.setClaimedAt(now);
+        });
+        return due;
+    }
+
+    @Transactional
+    public void record(List<EmailDelivery> deliveries) {
+        repository.saveAll(deliveries);
+    }
+}
@@ -0,0 +1,211 @@
+package com.eventflow.notificationservice.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends queued emails on a bounded worker pool, off the RabbitMQ consumer threads. Each worker
+ * sends a batch through one {@code send(SimpleMailMessage...)} call, which reuses a single SMTP
+ * connection for the whole batch. Failed emails are retried with exponential backoff until
+ * they run out of attempts, and every outcome is stored on the delivery row.
+ */
+@Component
+public class EmailDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailDispatcher.class);
+
+    private final EmailDeliveryStore deliveryStore;
+    private final EmailDeliveryRepository deliveryRepository;
+    private final JavaMailSender mailSender;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService workers;
+    private final String from;
+    private final AtomicInteger busyWorkers = new AtomicInteger();
+    private final int workerCount;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final long claimTimeoutMs;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+
+    public EmailDispatcher(
+            EmailDeliveryStore deliveryStore,
+            EmailDeliveryRepository deliveryRepository,
+            JavaMailSender mailSender,
+            MeterRegistry meterRegistry,
+            Environment environment,
+            @Value("${mail.from}") String from,
+            @Value("${mail.dispatch.workers:2}") int workerCount,
+            @Value("${mail.dispatch.batch-size:20}") int batchSize,
+            @Value("${mail.dispatch.max-attempts:5}") int maxAttempts,
+            @Value("${mail.dispatch.initial-backoff-ms:5000}") long initialBackoffMs,
+            @Value("${mail.dispatch.max-backoff-ms:3600000}") long maxBackoffMs,
+            @Value("${mail.dispatch.claim-timeout-ms:300000}") long claimTimeoutMs
+    ) {
+        this.deliveryStore = deliveryStore;
+        this.deliveryRepository = deliveryRepository;
+        this.mailSender = mailSender;
+        this.meterRegistry = meterRegistry;
+        this.from = from;
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.claimTimeoutMs = claimTimeoutMs;
+
+        ThreadFactory threadFactory;
+        if (Threading.VIRTUAL.isActive(environment)) {
+            threadFactory = new VirtualThreadTaskExecutor("mail-dispatch-").getVirtualThreadFactory();
+        } else {
+            AtomicInteger threadNumber = new AtomicInteger();
+            threadFactory = runnable -> {
+                Thread thread = new Thread(runnable, "mail-dispatch-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+        this.workers = Executors.newFixedThreadPool(workerCount, threadFactory);
+
+        this.sent = Counter.builder("notification.email.deliveries").tag("outcome", "sent").register(meterRegistry);
+        this.retried = Counter.builder("notification.email.deliveries").tag("outcome", "retry").register(meterRegistry);
+        this.failed = Counter.builder("notification.email.deliveries").tag("outcome", "failed").register(meterRegistry);
+    }
+
+    /**
+     * Claims as many due emails as the idle workers can take and hands them out in batches.
+     */
+    @Scheduled(fixedDelayString = "${mail.dispatch.poll-delay-ms:500}")
+    public void dispatch() {
+        int idle = workerCount - busyWorkers.get();
+        if (idle <= 0) {
+            return;
+        }
+        List<EmailDelivery> claimed = deliveryStore.claim(idle * batchSize);
+        for (int i = 0; i < claimed.size(); i += batchSize) {
+            List<EmailDelivery> batch = new ArrayList<>(claimed.subList(i, Math.min(i + batchSize, claimed.size())));
+            busyWorkers.incrementAndGet();
+            try {
+                workers.execute(() -> {
+                    try {
+                        send(batch);
+                    } finally {
+                        busyWorkers.decrementAndGet();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // Shutting down; the claim times out and another instance picks the batch up
+                busyWorkers.decrementAndGet();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${mail.dispatch.release-delay-ms:60000}")
+    public void releaseStaleClaims() {
+        int released = deliveryRepository.releaseClaimedBefore(LocalDateTime.now().minus(Duration.ofMillis(claimTimeoutMs)));
+        if (released > 0) {
+            log.warn("Released {} emails claimed by an instance that did not finish sending them", released);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+
+    private void send(List<EmailDelivery> batch) {
+        SimpleMailMessage[] messages = batch.stream().map(this::toMessage).toArray(SimpleMailMessage[]::new);
+        Map<Object, Exception> failures = Map.of();
+        Exception batchFailure = null;
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            mailSender.send(messages);
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+            if (failures.isEmpty()) {
+                batchFailure = e;
+            }
+        } catch (MailException e) {
+            batchFailure = e;
+        } finally {
+            sample.stop(Timer.builder("notification.email.send")
+                    .description("Time to send one batch of emails")
+                    .register(meterRegistry));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < batch.size(); i++) {
+            Exception failure = batchFailure != null ? batchFailure : failures.get(messages[i]);
+            recordOutcome(batch.get(i), failure, now);
+        }
+        deliveryStore.record(batch);
+        log.debug("Dispatched batch of {} emails", batch.size());
+    }
+
+    private void recordOutcome(EmailDelivery delivery, Exception failure, LocalDateTime now) {
+        delivery.setAttempts(delivery.getAttempts() + 1);
+        delivery.setClaimedAt(null);
+        if (failure == null) {
+            delivery.setStatus(EmailDeliveryStatus.SENT);
+            delivery.setSentAt(now);
+            delivery.setLastError(null);
+            // The body carries the invitation token; keep it only while the email may still be sent
+            delivery.setBody("");
+            sent.increment();
+            log.info("Successfully sent email to {}", delivery.getRecipient());
+            return;
+        }
+
+        delivery.setLastError(failure.getMessage());
+        if (delivery.getAttempts() >= maxAttempts) {
+            delivery.setStatus(EmailDeliveryStatus.FAILED);
+            delivery.setBody("");
+            failed.increment();
+            log.error("Giving up on email to {} after {} attempts", delivery.getRecipient(), delivery.getAttempts(), failure);
+            return;
+        }
+        long backoff = Math.min(maxBackoffMs, initialBackoffMs << Math.min(delivery.getAttempts() - 1, 20));
+        delivery.setStatus(EmailDeliveryStatus.PENDING);
+        delivery.setNextAttemptAt(now.plus(Duration.ofMillis(backoff)));
+        retried.increment();
+        log.warn("Failed to send email to {}, retrying in {} ms: {}", delivery.getRecipient(), backoff, failure.getMessage());
+    }
+
+    private SimpleMailMessage toMessage(EmailDelivery delivery) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(delivery.getRecipient());
+        message.setSubject(delivery.getSubject());
+        message.setText(delivery.getBody());
+        return message;
+    }
+}
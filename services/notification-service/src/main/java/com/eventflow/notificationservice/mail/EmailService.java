@@ -4,12 +4,14 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -17,51 +19,45 @@ public class EmailService {
 
     private static final Logger log = LoggerFactory.getLogger(EmailService.class);
 
-    private final JavaMailSender mailSender;
-
-    @Value("${mail.from}")
-    private String fromEmail;
+    private final EmailDeliveryRepository deliveryRepository;
 
     @Value("${frontend.base-url}")
     private String frontendBaseUrl;
 
-    public void sendInvitationEmail(
-            String inviteeEmail,
-            String inviterUsername,
-            String eventTitle,
-            String eventStartAt,
-            String eventAddress,
-            String eventCity,
-            String token
-    ) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(inviteeEmail);
-            message.setSubject("Invitation to event: " + eventTitle);
-            message.setText(buildInvitationEmailBody(
-                    inviterUsername, eventTitle, eventStartAt, eventAddress, eventCity, token
-            ));
+    /**
+     * Queues the invitations for {@link EmailDispatcher} with one lookup and one batched insert.
+     * The delivery key identifies the invitation, so a redelivered message does not queue an
+     * email twice; a concurrent duplicate fails the insert and the retry skips it.
+     */
+    public void queueInvitationEmails(List<InvitationEmail> emails) {
+        Set<String> existing = deliveryRepository.findExistingDeliveryKeys(
+                emails.stream().map(InvitationEmail::deliveryKey).toList());
 
-            mailSender.send(message);
-            log.info("Successfully sent invitation email to {}", inviteeEmail);
-        } catch (Exception e) {
-            log.error("Failed to send invitation email to {}", inviteeEmail, e);
-            throw new RuntimeException("Failed to send invitation email", e);
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailDelivery> deliveries = new ArrayList<>();
+        for (InvitationEmail email : emails) {
+            if (existing.contains(email.deliveryKey())) {
+                log.info("Invitation email {} already queued, skipping", email.deliveryKey());
+                continue;
+            }
+            deliveries.add(EmailDelivery.builder()
+                    .deliveryKey(email.deliveryKey())
+                    .recipient(email.inviteeEmail())
+                    .subject("Invitation to event: " + email.eventTitle())
+                    .body(buildInvitationEmailBody(email))
+                    .status(EmailDeliveryStatus.PENDING)
+                    .nextAttemptAt(now)
+                    .build());
         }
+
+        deliveryRepository.saveAll(deliveries);
+        log.info("Queued {} invitation emails", deliveries.size());
     }
 
-    private String buildInvitationEmailBody(
-            String inviterUsername,
-            String eventTitle,
-            String eventStartAt,
-            String eventAddress,
-            String eventCity,
-            String token
-    ) {
-        String formattedDate = formatEventDate(eventStartAt);
-        String acceptUrl = frontendBaseUrl + "/invite/accept?token=" + token;
-        String declineUrl = frontendBaseUrl + "/invite/decline?token=" + token;
+    private String buildInvitationEmailBody(InvitationEmail email) {
+        String formattedDate = formatEventDate(email.eventStartAt());
+        String acceptUrl = frontendBaseUrl + "/invite/accept?token=" + email.token();
+        String declineUrl = frontendBaseUrl + "/invite/decline?token=" + email.token();
 
         return String.format("""
                 Hello,
@@ -82,11 +78,11 @@ public class EmailService {
                 
                 EventFlow Team
                 """,
-                inviterUsername,
-                eventTitle,
+                email.inviterUsername(),
+                email.eventTitle(),
                 formattedDate,
-                eventCity,
-                eventAddress,
+                email.eventCity(),
+                email.eventAddress(),
                 acceptUrl,
                 declineUrl
         );
@@ -0,0 +1,17 @@
+package com.eventflow.notificationservice.mail;
+
+/**
+ * One invitation email to queue. The delivery key is the invitation id, so each invitation is
+ * emailed once however often its message is delivered.
+ */
+public record InvitationEmail(
+        String deliveryKey,
+        String inviteeEmail,
+        String inviterUsername,
+        String eventTitle,
+        String eventStartAt,
+        String eventAddress,
+        String eventCity,
+        String token
+) {
+}
@@ -0,0 +1,370 @@
+package com.eventflow.notificationservice.notification;
+
+import com.eventflow.notificationservice.mail.EmailService;
+import com.eventflow.notificationservice.mail.InvitationEmail;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Turns one domain event into notifications: parsing, the idempotency lookup, building and
+ * saving the notifications and handing them to SSE delivery. {@link NotificationEventListener}
+ * takes care of batching, ordering lanes, retries and dead-lettering around it.
+ */
+@Component
+public class NotificationDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private final NotificationRepository notificationRepository;
+    private final ObjectMapper objectMapper;
+    private final EmailService emailService;
+    private final NotificationFanout notificationFanout;
+    private final MeterRegistry meterRegistry;
+    private final Counter duplicates;
+
+    public NotificationDispatcher(
+            NotificationRepository notificationRepository,
+            ObjectMapper objectMapper,
+            EmailService emailService,
+            NotificationFanout notificationFanout,
+            MeterRegistry meterRegistry
+    ) {
+        this.notificationRepository = notificationRepository;
+        this.objectMapper = objectMapper;
+        this.emailService = emailService;
+        this.notificationFanout = notificationFanout;
+        this.meterRegistry = meterRegistry;
+        this.duplicates = Counter.builder("notification.duplicates")
+                .description("Messages skipped because they were already processed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Handles one domain event message. Throws when the message could not be processed, so the
+     * caller can retry or dead-letter it.
+     */
+    public void dispatch(String message) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String eventType = "unknown";
+        String outcome = "error";
+        try {
+            log.info("Received message from RabbitMQ: {}", message);
+            
+            JsonNode rootNode = objectMapper.readTree(message);
+            String messageId = rootNode.get("messageId").asText();
+            eventType = rootNode.get("eventType").asText();
+            JsonNode payload = rootNode.get("payload");
+            
+            if (notificationRepository.existsByExternalMessageId(messageId)) {
+                log.info("Message {} already processed, skipping", messageId);
+                duplicates.increment();
+                outcome = "duplicate";
+                return;
+            }
+            
+            outcome = "success";
+            
+            if ("INVITATION_REQUESTED".equals(eventType)) {
+                handleInvitationRequested(payload);
+                return;
+            }
+            
+            if (payload.has("recipients")) {
+                handleMultiRecipientEvent(messageId, eventType, payload);
+                return;
+            }
+            
+            if (("USER_REGISTERED".equals(eventType) || "USER_UNREGISTERED".equals(eventType)) 
+                && payload.has("organizerId")) {
+                handleRegistrationEvent(messageId, eventType, payload);
+                return;
+            }
+            
+            Notification notification = buildNotification(messageId, eventType, payload);
+            
+            if (notification != null) {
+                try {
+                    Notification savedNotification = notificationRepository.save(notification);
+                    log.info("Saved notification for event type: {}", eventType);
+                    
+                    notificationFanout.deliver(savedNotification);
+                } catch (DataIntegrityViolationException e) {
+                    log.warn("Duplicate notification detected for messageId: {}", messageId);
+                }
+            }
+            
+        } catch (Exception e) {
+            outcome = "error";
+            log.error("Failed to process RabbitMQ message", e);
+            throw new RuntimeException("Failed to process message", e);
+        } finally {
+            sample.stop(Timer.builder("notification.processing")
+                    .tag("event.type", eventType)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+    
+    private Notification buildNotification(String messageId, String eventType, JsonNode payload) {
+        return switch (eventType) {
+            case "EVENT_CREATED" -> {
+                UUID organizerId = UUID.fromString(payload.get("organizerId").asText());
+                String title = payload.get("title").asText();
+                UUID eventId = UUID.fromString(payload.get("eventId").asText());
+                
+                yield Notification.builder()
+                        .externalMessageId(messageId)
+                        .userId(organizerId)
+                        .eventId(eventId)
+                        .type("EVENT_CREATED")
+                        .message(String.format("Your event '%s' has been created successfully", title))
+                        .read(false)
+                        .build();
+            }
+            
+            case "EVENT_LOCATION_RESOLVED" -> {
+                UUID organizerId = UUID.fromString(payload.get("organizerId").asText());
+                String title = payload.get("title").asText();
+                UUID eventId = UUID.fromString(payload.get("eventId").asText());
+                
+                yield Notification.builder()
+                        .externalMessageId(messageId)
+                        .userId(organizerId)
+                        .eventId(eventId)
+                        .type("EVENT_LOCATION_RESOLVED")
+                        .message(String.format("The address of your event '%s' has been placed on the map", title))
+                        .read(false)
+                        .build();
+            }
+            
+            case "USER_REGISTERED" -> {
+                UUID userId = UUID.fromString(payload.get("userId").asText());
+                UUID eventId = UUID.fromString(payload.get("eventId").asText());
+                UUID organizerId = payload.has("organizerId") ? 
+                    UUID.fromString(payload.get("organizerId").asText()) : null;
+                String eventTitle = payload.has("eventTitle") ? 
+                    payload.get("eventTitle").asText() : "an event";
+                
+                yield Notification.builder()
+                        .externalMessageId(messageId)
+                        .userId(userId)
+                        .eventId(eventId)
+                        .type("REGISTRATION_CONFIRMED")
+                        .message(String.format("You have successfully registered for '%s'", eventTitle))
+                        .read(false)
+                        .build();
+            }
+            
+            case "USER_UNREGISTERED" -> {
+                UUID userId = UUID.fromString(payload.get("userId").asText());
+                UUID eventId = UUID.fromString(payload.get("eventId").asText());
+                String eventTitle = payload.has("eventTitle") ? 
+                    payload.get("eventTitle").asText() : "an event";
+                
+                yield Notification.builder()
+                        .externalMessageId(messageId)
+                        .userId(userId)
+                        .eventId(eventId)
+                        .type("REGISTRATION_CANCELLED")
+                        .message(String.format("You have been unregistered from '%s'", eventTitle))
+                        .read(false)
+                        .build();
+            }
+            
+            default -> {
+                log.warn("Unknown event type: {}", eventType);
+                yield null;
+            }
+        };
+    }
+    
+    private void handleMultiRecipientEvent(String messageId, String eventType, JsonNode payload) {
+        try {
+            UUID eventId = UUID.fromString(payload.get("eventId").asText());
+            String title = payload.get("title").asText();
+            UUID organizerId = payload.has("organizerId") ? 
+                UUID.fromString(payload.get("organizerId").asText()) : null;
+            
+            JsonNode recipientsNode = payload.get("recipients");
+            
+            if (recipientsNode == null || !recipientsNode.isArray()) {
+                log.warn("Recipients field is missing or not an array for event type: {}", eventType);
+                return;
+            }
+            
+            List<UUID> recipients = new ArrayList<>();
+            for (JsonNode recipientNode : recipientsNode) {
+                recipients.add(UUID.fromString(recipientNode.asText()));
+            }
+            
+            if (organizerId != null && !recipients.contains(organizerId)) {
+                recipients.add(organizerId);
+            }
+            
+            String messageTemplate = switch (eventType) {
+                case "EVENT_UPDATED" -> "Event '%s' has been updated";
+                case "EVENT_DELETED" -> "Event '%s' has been cancelled";
+                default -> "Event '%s' notification";
+            };
+            
+            Map<String, UUID> recipientsByMessageId = new LinkedHashMap<>();
+            for (UUID recipientId : recipients) {
+                recipientsByMessageId.put(messageId + "-" + recipientId, recipientId);
+            }
+            
+            // One lookup for all derived message IDs instead of one per recipient
+            Set<String> existingMessageIds = notificationRepository.findExistingExternalMessageIds(
+                    recipientsByMessageId.keySet());
+            
+            List<Notification> notifications = new ArrayList<>();
+            recipientsByMessageId.forEach((uniqueMessageId, recipientId) -> {
+                if (existingMessageIds.contains(uniqueMessageId)) {
+                    log.debug("Notification already exists for recipient {} with messageId {}", 
+                        recipientId, uniqueMessageId);
+                    return;
+                }
+                
+                notifications.add(Notification.builder()
+                        .externalMessageId(uniqueMessageId)
+                        .userId(recipientId)
+                        .eventId(eventId)
+                        .type(eventType)
+                        .message(String.format(messageTemplate, title))
+                        .read(false)
+                        .build());
+            });
+            
+            // Inserted with JDBC batching; a concurrent duplicate fails the batch and the retry skips saved rows
+            List<Notification> savedNotifications = notificationRepository.saveAll(notifications);
+            
+            notificationFanout.deliverAll(savedNotifications);
+            
+            log.info("Created {} notifications for event type: {}", savedNotifications.size(), eventType);
+            
+        } catch (Exception e) {
+            log.error("Failed to handle multi-recipient event", e);
+            throw new RuntimeException("Failed to handle multi-recipient event", e);
+        }
+    }
+    
+    private void handleRegistrationEvent(String messageId, String eventType, JsonNode payload) {
+        try {
+            UUID userId = UUID.fromString(payload.get("userId").asText());
+            UUID eventId = UUID.fromString(payload.get("eventId").asText());
+            UUID organizerId = UUID.fromString(payload.get("organizerId").asText());
+            String eventTitle = payload.has("eventTitle") ? 
+                payload.get("eventTitle").asText() : "an event";
+            
+            boolean isRegistration = "USER_REGISTERED".equals(eventType);
+            
+            String userMessageId = messageId + "-user";
+            if (!notificationRepository.existsByExternalMessageId(userMessageId)) {
+                Notification userNotification = Notification.builder()
+                        .externalMessageId(userMessageId)
+                        .userId(userId)
+                        .eventId(eventId)
+                        .type(isRegistration ? "REGISTRATION_CONFIRMED" : "REGISTRATION_CANCELLED")
+                        .message(isRegistration ? 
+                            String.format("You have successfully registered for '%s'", eventTitle) :
+                            String.format("You have been unregistered from '%s'", eventTitle))
+                        .read(false)
+                        .build();
+                
+                try {
+                    Notification savedUserNotification = notificationRepository.save(userNotification);
+                    log.info("Saved notification for user {} for event type: {}", userId, eventType);
+                    
+                    notificationFanout.deliver(savedUserNotification);
+                } catch (DataIntegrityViolationException e) {
+                    log.warn("Duplicate notification for user {} with messageId {}", userId, userMessageId);
+                }
+            }
+            
+            String organizerMessageId = messageId + "-organizer";
+            if (!notificationRepository.existsByExternalMessageId(organizerMessageId)) {
+                Notification organizerNotification = Notification.builder()
+                        .externalMessageId(organizerMessageId)
+                        .userId(organizerId)
+                        .eventId(eventId)
+                        .type(isRegistration ? "USER_REGISTERED" : "USER_UNREGISTERED")
+                        .message(isRegistration ? 
+                            String.format("A new user registered for your event '%s'", eventTitle) :
+                            String.format("A user unregistered from your event '%s'", eventTitle))
+                        .read(false)
+                        .build();
+                
+                try {
+                    Notification savedOrganizerNotification = notificationRepository.save(organizerNotification);
+                    log.info("Saved notification for organizer {} for event type: {}", organizerId, eventType);
+                    
+                    notificationFanout.deliver(savedOrganizerNotification);
+                } catch (DataIntegrityViolationException e) {
+                    log.warn("Duplicate notification for organizer {} with messageId {}", 
+                        organizerId, organizerMessageId);
+                }
+            }
+            
+            log.info("Created 2 notifications (user + organizer) for event type: {}", eventType);
+            
+        } catch (Exception e) {
+            log.error("Failed to handle registration event", e);
+            throw new RuntimeException("Failed to handle registration event", e);
+        }
+    }
+    
+    /**
+     * Only queues the emails; {@link com.eventflow.notificationservice.mail.EmailDispatcher}
+     * sends them, so a slow SMTP server never holds up the listener. A bulk invite carries an
+     * {@code invitations} array and is expanded into one email per invitee.
+     */
+    private void handleInvitationRequested(JsonNode payload) {
+        String inviterUsername = payload.get("inviterUsername").asText();
+        String eventTitle = payload.get("eventTitle").asText();
+        String eventStartAt = payload.get("eventStartAt").asText();
+        String eventAddress = payload.get("eventAddress").asText();
+        String eventCity = payload.get("eventCity").asText();
+        
+        List<InvitationEmail> emails = new ArrayList<>();
+        if (payload.has("invitations")) {
+            for (JsonNode invitation : payload.get("invitations")) {
+                emails.add(new InvitationEmail(
+                        invitation.get("invitationId").asText(),
+                        invitation.get("inviteeEmail").asText(),
+                        inviterUsername,
+                        eventTitle,
+                        eventStartAt,
+                        eventAddress,
+                        eventCity,
+                        invitation.get("token").asText()
+                ));
+            }
+        } else {
+            emails.add(new InvitationEmail(
+                    payload.get("invitationId").asText(),
+                    payload.get("inviteeEmail").asText(),
+                    inviterUsername,
+                    eventTitle,
+                    eventStartAt,
+                    eventAddress,
+                    eventCity,
+                    payload.get("token").asText()
+            ));
+        }
+        
+        emailService.queueInvitationEmails(emails);
+    }
+}
@@ -1,18 +1,26 @@
 package com.eventflow.notificationservice.notification;
 
-import com.eventflow.notificationservice.mail.EmailService;
+import com.eventflow.notificationservice.config.RabbitMQConfig;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
-import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 @Component
 @RequiredArgsConstructor
@@ -20,275 +28,140 @@ public class NotificationEventListener {
 
     private static final Logger log = LoggerFactory.getLogger(NotificationEventListener.class);
 
-    private final NotificationRepository notificationRepository;
+    private static final String ATTEMPT_HEADER = "x-attempt";
+    private static final String ORIGINAL_ROUTING_KEY_HEADER = "x-original-routing-key";
+
+    private final NotificationDispatcher notificationDispatcher;
     private final ObjectMapper objectMapper;
-    private final EmailService emailService;
-    private final NotificationSseService notificationSseService;
+    private final MessageConverter messageConverter;
+    private final ExecutorService notificationLaneExecutor;
+    private final MeterRegistry meterRegistry;
+    private final RabbitTemplate rabbitTemplate;
 
-    @RabbitListener(queues = "notification.queue")
-    public void handleDomainEvent(String message) {
-        try {
-            log.info("Received message from RabbitMQ: {}", message);
-            
-            JsonNode rootNode = objectMapper.readTree(message);
-            String messageId = rootNode.get("messageId").asText();
-            String eventType = rootNode.get("eventType").asText();
-            JsonNode payload = rootNode.get("payload");
-            
-            if (notificationRepository.existsByExternalMessageId(messageId)) {
-                log.info("Message {} already processed, skipping", messageId);
-                return;
-            }
-            
-            if ("INVITATION_REQUESTED".equals(eventType)) {
-                handleInvitationRequested(payload);
-                return;
-            }
-            
-            if (payload.has("recipients")) {
-                handleMultiRecipientEvent(messageId, eventType, payload);
-                return;
-            }
-            
-            if (("USER_REGISTERED".equals(eventType) || "USER_UNREGISTERED".equals(eventType)) 
-                && payload.has("organizerId")) {
-                handleRegistrationEvent(messageId, eventType, payload);
-                return;
-            }
-            
-            Notification notification = buildNotification(messageId, eventType, payload);
-            
-            if (notification != null) {
-                try {
-                    Notification savedNotification = notificationRepository.save(notification);
-                    log.info("Saved notification for event type: {}", eventType);
-                    
-                    if (savedNotification.getUserId() != null) {
-                        notificationSseService.notifyUser(savedNotification.getUserId(), savedNotification);
-                    }
-                } catch (DataIntegrityViolationException e) {
-                    log.warn("Duplicate notification detected for messageId: {}", messageId);
-                }
-            }
-            
-        } catch (Exception e) {
-            log.error("Failed to process RabbitMQ message", e);
-            throw new RuntimeException("Failed to process message", e);
-        }
+    @Value("${notification.listener.lanes:4}")
+    private int laneCount;
+
+    @Value("${notification.listener.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${notification.listener.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    private Counter redeliveries;
+    private Counter retried;
+    private Counter deadLettered;
+
+    @PostConstruct
+    void initMetrics() {
+        redeliveries = Counter.builder("notification.redeliveries")
+                .description("Messages the broker delivered more than once")
+                .register(meterRegistry);
+        retried = Counter.builder("notification.retried")
+                .description("Failed messages sent to the retry queue")
+                .register(meterRegistry);
+        deadLettered = Counter.builder("notification.dead_lettered")
+                .description("Messages moved to the dead-letter queue after their retries")
+                .register(meterRegistry);
     }
-    
-    private Notification buildNotification(String messageId, String eventType, JsonNode payload) {
-        return switch (eventType) {
-            case "EVENT_CREATED" -> {
-                UUID organizerId = UUID.fromString(payload.get("organizerId").asText());
-                String title = payload.get("title").asText();
-                UUID eventId = UUID.fromString(payload.get("eventId").asText());
-                
-                yield Notification.builder()
-                        .externalMessageId(messageId)
-                        .userId(organizerId)
-                        .eventId(eventId)
-                        .type("EVENT_CREATED")
-                        .message(String.format("Your event '%s' has been created successfully", title))
-                        .read(false)
-                        .build();
-            }
-            
-            case "USER_REGISTERED" -> {
-                UUID userId = UUID.fromString(payload.get("userId").asText());
-                UUID eventId = UUID.fromString(payload.get("eventId").asText());
-                UUID organizerId = payload.has("organizerId") ? 
-                    UUID.fromString(payload.get("organizerId").asText()) : null;
-                String eventTitle = payload.has("eventTitle") ? 
-                    payload.get("eventTitle").asText() : "an event";
-                
-                yield Notification.builder()
-                        .externalMessageId(messageId)
-                        .userId(userId)
-                        .eventId(eventId)
-                        .type("REGISTRATION_CONFIRMED")
-                        .message(String.format("You have successfully registered for '%s'", eventTitle))
-                        .read(false)
-                        .build();
-            }
-            
-            case "USER_UNREGISTERED" -> {
-                UUID userId = UUID.fromString(payload.get("userId").asText());
-                UUID eventId = UUID.fromString(payload.get("eventId").asText());
-                String eventTitle = payload.has("eventTitle") ? 
-                    payload.get("eventTitle").asText() : "an event";
-                
-                yield Notification.builder()
-                        .externalMessageId(messageId)
-                        .userId(userId)
-                        .eventId(eventId)
-                        .type("REGISTRATION_CANCELLED")
-                        .message(String.format("You have been unregistered from '%s'", eventTitle))
-                        .read(false)
-                        .build();
-            }
-            
-            default -> {
-                log.warn("Unknown event type: {}", eventType);
-                yield null;
+
+    /**
+     * Receives up to one batch from notification.queue and processes it across ordering lanes.
+     * Messages with the same ordering key land in the same lane and keep their broker order.
+     * The key is the user who caused the message, so everything one user does is handled in
+     * order. A notification fans out to other recipients as well (an organizer hears about every
+     * registration), and those may see messages caused by different users interleave.
+     * The order holds per consumer: with several replicas each one receives its own share of
+     * the queue, and a retried message rejoins the queue behind newer ones.
+     * A failing message is parked on the retry queue and the lane moves on at once, so one bad
+     * message never holds back or drops the rest of the batch.
+     */
+    @RabbitListener(queues = RabbitMQConfig.QUEUE, containerFactory = RabbitMQConfig.BATCH_CONTAINER_FACTORY)
+    public void handleDomainEvents(List<Message> messages) {
+        List<List<Received>> lanes = new ArrayList<>(laneCount);
+        for (int i = 0; i < laneCount; i++) {
+            lanes.add(new ArrayList<>());
+        }
+        
+        for (Message message : messages) {
+            if (message.getMessageProperties().isRedelivered()) {
+                redeliveries.increment();
             }
-        };
+            String body = (String) messageConverter.fromMessage(message);
+            lanes.get(Math.floorMod(orderingKey(body).hashCode(), laneCount)).add(new Received(message, body));
+        }
+        
+        CompletableFuture<?>[] running = lanes.stream()
+                .filter(lane -> !lane.isEmpty())
+                .map(lane -> CompletableFuture.runAsync(() -> lane.forEach(this::process), notificationLaneExecutor))
+                .toArray(CompletableFuture[]::new);
+        
+        CompletableFuture.allOf(running).join();
+        log.debug("Processed batch of {} messages on {} lanes", messages.size(), running.length);
     }
-    
-    private void handleMultiRecipientEvent(String messageId, String eventType, JsonNode payload) {
+
+    /**
+     * Processes one message. A failure sends it to the retry queue with a doubling backoff, or to
+     * the dead-letter queue after its last attempt. Only a failure to reach either queue escapes,
+     * which requeues the batch.
+     */
+    private void process(Received received) {
         try {
-            UUID eventId = UUID.fromString(payload.get("eventId").asText());
-            String title = payload.get("title").asText();
-            UUID organizerId = payload.has("organizerId") ? 
-                UUID.fromString(payload.get("organizerId").asText()) : null;
-            
-            JsonNode recipientsNode = payload.get("recipients");
-            
-            if (recipientsNode == null || !recipientsNode.isArray()) {
-                log.warn("Recipients field is missing or not an array for event type: {}", eventType);
-                return;
-            }
-            
-            List<UUID> recipients = new ArrayList<>();
-            for (JsonNode recipientNode : recipientsNode) {
-                recipients.add(UUID.fromString(recipientNode.asText()));
-            }
-            
-            if (organizerId != null && !recipients.contains(organizerId)) {
-                recipients.add(organizerId);
-            }
-            
-            String messageTemplate = switch (eventType) {
-                case "EVENT_UPDATED" -> "Event '%s' has been updated";
-                case "EVENT_DELETED" -> "Event '%s' has been cancelled";
-                default -> "Event '%s' notification";
-            };
-            
-            for (UUID recipientId : recipients) {
-                String uniqueMessageId = messageId + "-" + recipientId;
-                
-                if (notificationRepository.existsByExternalMessageId(uniqueMessageId)) {
-                    log.debug("Notification already exists for recipient {} with messageId {}", 
-                        recipientId, uniqueMessageId);
-                    continue;
-                }
-                
-                Notification notification = Notification.builder()
-                        .externalMessageId(uniqueMessageId)
-                        .userId(recipientId)
-                        .eventId(eventId)
-                        .type(eventType)
-                        .message(String.format(messageTemplate, title))
-                        .read(false)
-                        .build();
-                
-                try {
-                    Notification savedNotification = notificationRepository.save(notification);
-                    log.info("Saved notification for user {} for event type: {}", recipientId, eventType);
-                    
-                    notificationSseService.notifyUser(recipientId, savedNotification);
-                } catch (DataIntegrityViolationException e) {
-                    log.warn("Duplicate notification for recipient {} with messageId {}", 
-                        recipientId, uniqueMessageId);
-                }
+            notificationDispatcher.dispatch(received.body());
+        } catch (RuntimeException e) {
+            Message message = received.message();
+            Number header = message.getMessageProperties().getHeader(ATTEMPT_HEADER);
+            int attempt = header != null ? header.intValue() : 1;
+            if (attempt >= maxAttempts) {
+                deadLetter(message, attempt, e);
+            } else {
+                retryLater(message, attempt, e);
             }
-            
-            log.info("Created {} notifications for event type: {}", recipients.size(), eventType);
-            
-        } catch (Exception e) {
-            log.error("Failed to handle multi-recipient event", e);
-            throw new RuntimeException("Failed to handle multi-recipient event", e);
         }
     }
-    
-    private void handleRegistrationEvent(String messageId, String eventType, JsonNode payload) {
+
+    /**
+     * Delays through per-message expiration. A message behind one with a longer backoff expires
+     * only once that one has, so its delay can stretch up to the longest backoff waiting.
+     */
+    private void retryLater(Message message, int attempt, RuntimeException cause) {
+        long backoffMs = retryBackoffMs << Math.min(attempt - 1, 20);
+        Message retry = MessageBuilder.fromMessage(message)
+                .setHeader(ATTEMPT_HEADER, attempt + 1)
+                .setHeaderIfAbsent(ORIGINAL_ROUTING_KEY_HEADER, message.getMessageProperties().getReceivedRoutingKey())
+                .setExpiration(String.valueOf(backoffMs))
+                .build();
+        rabbitTemplate.send("", RabbitMQConfig.RETRY_QUEUE, retry);
+        retried.increment();
+        log.warn("Attempt {} of {} failed for message, retrying in {} ms", attempt, maxAttempts, backoffMs, cause);
+    }
+
+    private void deadLetter(Message message, int attempts, RuntimeException cause) {
+        Message deadLetter = MessageBuilder.fromMessage(message)
+                .setHeader("x-exception-message", String.valueOf(cause.getCause() != null ? cause.getCause() : cause))
+                .setHeaderIfAbsent(ORIGINAL_ROUTING_KEY_HEADER, message.getMessageProperties().getReceivedRoutingKey())
+                .build();
+        rabbitTemplate.send("", RabbitMQConfig.DEAD_LETTER_QUEUE, deadLetter);
+        deadLettered.increment();
+        log.error("Moved message to {} after {} attempts", RabbitMQConfig.DEAD_LETTER_QUEUE, attempts, cause);
+    }
+
+    /**
+     * Messages caused by the same user share a lane. Fan-out events fall back to the event id.
+     */
+    private String orderingKey(String message) {
         try {
-            UUID userId = UUID.fromString(payload.get("userId").asText());
-            UUID eventId = UUID.fromString(payload.get("eventId").asText());
-            UUID organizerId = UUID.fromString(payload.get("organizerId").asText());
-            String eventTitle = payload.has("eventTitle") ? 
-                payload.get("eventTitle").asText() : "an event";
-            
-            boolean isRegistration = "USER_REGISTERED".equals(eventType);
-            
-            String userMessageId = messageId + "-user";
-            if (!notificationRepository.existsByExternalMessageId(userMessageId)) {
-                Notification userNotification = Notification.builder()
-                        .externalMessageId(userMessageId)
-                        .userId(userId)
-                        .eventId(eventId)
-                        .type(isRegistration ? "REGISTRATION_CONFIRMED" : "REGISTRATION_CANCELLED")
-                        .message(isRegistration ? 
-                            String.format("You have successfully registered for '%s'", eventTitle) :
-                            String.format("You have been unregistered from '%s'", eventTitle))
-                        .read(false)
-                        .build();
-                
-                try {
-                    Notification savedUserNotification = notificationRepository.save(userNotification);
-                    log.info("Saved notification for user {} for event type: {}", userId, eventType);
-                    
-                    notificationSseService.notifyUser(userId, savedUserNotification);
-                } catch (DataIntegrityViolationException e) {
-                    log.warn("Duplicate notification for user {} with messageId {}", userId, userMessageId);
-                }
-            }
-            
-            String organizerMessageId = messageId + "-organizer";
-            if (!notificationRepository.existsByExternalMessageId(organizerMessageId)) {
-                Notification organizerNotification = Notification.builder()
-                        .externalMessageId(organizerMessageId)
-                        .userId(organizerId)
-                        .eventId(eventId)
-                        .type(isRegistration ? "USER_REGISTERED" : "USER_UNREGISTERED")
-                        .message(isRegistration ? 
-                            String.format("A new user registered for your event '%s'", eventTitle) :
-                            String.format("A user unregistered from your event '%s'", eventTitle))
-                        .read(false)
-                        .build();
-                
-                try {
-                    Notification savedOrganizerNotification = notificationRepository.save(organizerNotification);
-                    log.info("Saved notification for organizer {} for event type: {}", organizerId, eventType);
-                    
-                    notificationSseService.notifyUser(organizerId, savedOrganizerNotification);
-                } catch (DataIntegrityViolationException e) {
-                    log.warn("Duplicate notification for organizer {} with messageId {}", 
-                        organizerId, organizerMessageId);
+            JsonNode payload = objectMapper.readTree(message).path("payload");
+            for (String field : List.of("userId", "organizerId", "eventId")) {
+                if (payload.hasNonNull(field)) {
+                    return payload.get(field).asText();
                 }
             }
-            
-            log.info("Created 2 notifications (user + organizer) for event type: {}", eventType);
-            
         } catch (Exception e) {
-            log.error("Failed to handle registration event", e);
-            throw new RuntimeException("Failed to handle registration event", e);
+            log.warn("Could not read ordering key, using the message itself", e);
         }
+        return message;
     }
-    
-    private void handleInvitationRequested(JsonNode payload) {
-        try {
-            String inviteeEmail = payload.get("inviteeEmail").asText();
-            String inviterUsername = payload.get("inviterUsername").asText();
-            String eventTitle = payload.get("eventTitle").asText();
-            String eventStartAt = payload.get("eventStartAt").asText();
-            String eventAddress = payload.get("eventAddress").asText();
-            String eventCity = payload.get("eventCity").asText();
-            String token = payload.get("token").asText();
-            
-            emailService.sendInvitationEmail(
-                    inviteeEmail,
-                    inviterUsername,
-                    eventTitle,
-                    eventStartAt,
-                    eventAddress,
-                    eventCity,
-                    token
-            );
-            
-            log.info("Sent invitation email to {} for event {}", inviteeEmail, eventTitle);
-        } catch (Exception e) {
-            log.error("Failed to send invitation email", e);
-        }
+
+    private record Received(Message message, String body) {
     }
 }
@@ -0,0 +1,60 @@
+package com.eventflow.notificationservice.notification;
+
+import com.eventflow.notificationservice.config.RabbitMQConfig;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Delivers saved notifications to SSE clients on every replica. Frames go through a fanout
+ * exchange; each instance consumes them from its own exclusive queue and pushes only to the
+ * streams connected to it, so no sticky sessions are needed behind the gateway.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationFanout {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationFanout.class);
+
+    private final RabbitTemplate rabbitTemplate;
+    private final NotificationSseService notificationSseService;
+
+    @Value("${notification.sse.fanout.enabled:true}")
+    private boolean fanoutEnabled;
+
+    public void deliver(Notification notification) {
+        deliverAll(List.of(notification));
+    }
+
+    public void deliverAll(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        if (!fanoutEnabled) {
+            deliverLocally(new SseDeliveryFrame(notifications));
+            return;
+        }
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.SSE_FANOUT_EXCHANGE, "", new SseDeliveryFrame(notifications));
+        } catch (Exception e) {
+            // Real-time delivery is best effort; clients still load the stored notifications
+            log.warn("Failed to broadcast {} notifications, delivering locally only", notifications.size(), e);
+            deliverLocally(new SseDeliveryFrame(notifications));
+        }
+    }
+
+    @RabbitListener(queues = "#{sseFanoutQueue.name}")
+    public void deliverLocally(SseDeliveryFrame frame) {
+        for (Notification notification : frame.notifications()) {
+            if (notification.getUserId() != null) {
+                notificationSseService.notifyUser(notification.getUserId(), notification);
+            }
+        }
+    }
+}
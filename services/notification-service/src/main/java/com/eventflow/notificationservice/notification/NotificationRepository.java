@@ -7,8 +7,10 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
@@ -19,6 +21,9 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
     
     boolean existsByExternalMessageId(String externalMessageId);
     
+    @Query("SELECT n.externalMessageId FROM Notification n WHERE n.externalMessageId IN :externalMessageIds")
+    Set<String> findExistingExternalMessageIds(Collection<String> externalMessageIds);
+    
     long countByUserIdAndReadFalse(UUID userId);
     
     Optional<Notification> findByIdAndUserId(UUID id, UUID userId);
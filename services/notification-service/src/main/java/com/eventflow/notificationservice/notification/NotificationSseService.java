@@ -1,51 +1,227 @@
 package com.eventflow.notificationservice.notification;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * SSE hub holding every open stream per user, so several tabs or devices all receive
+ * notifications. Sends are queued per connection and written on a dedicated executor;
+ * a client whose queue overflows is disconnected instead of stalling the caller.
+ * A client whose socket blocks a send for longer than the send timeout is disconnected too,
+ * and the writer pool gets an extra thread until that send returns, so one stalled client
+ * cannot hold a shared writer while the others wait.
+ */
 @Service
 public class NotificationSseService {
 
-    private final Map<UUID, SseEmitter> sseEmitters = new ConcurrentHashMap<>();
+    private static final Logger log = LoggerFactory.getLogger(NotificationSseService.class);
+
+    private final Map<UUID, Set<SseConnection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final ThreadPoolExecutor writers;
+    private final int queueCapacity;
+    private final long sendTimeoutNanos;
+    private final Counter droppedSlowClients;
+    private final Counter droppedBrokenClients;
+    private final Counter droppedStalledClients;
+    private final Counter rejectedSends;
+
+    public NotificationSseService(
+            MeterRegistry meterRegistry,
+            @Value("${notification.sse.writer-threads:4}") int writerThreads,
+            @Value("${notification.sse.queue-capacity:64}") int queueCapacity,
+            @Value("${notification.sse.send-timeout-ms:5000}") long sendTimeoutMs
+    ) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.writers = new ThreadPoolExecutor(writerThreads, writerThreads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "sse-writer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.queueCapacity = queueCapacity;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+
+        Gauge.builder("notification.sse.connections", connectionCount, AtomicInteger::get)
+                .description("Open SSE connections")
+                .register(meterRegistry);
+        Gauge.builder("notification.sse.users", connections, Map::size)
+                .description("Users with at least one open SSE connection")
+                .register(meterRegistry);
+        this.droppedSlowClients = Counter.builder("notification.sse.dropped")
+                .tag("reason", "slow")
+                .register(meterRegistry);
+        this.droppedBrokenClients = Counter.builder("notification.sse.dropped")
+                .tag("reason", "error")
+                .register(meterRegistry);
+        this.droppedStalledClients = Counter.builder("notification.sse.dropped")
+                .tag("reason", "stalled")
+                .register(meterRegistry);
+        this.rejectedSends = Counter.builder("notification.sse.dropped")
+                .tag("reason", "rejected")
+                .register(meterRegistry);
+    }
 
     public SseEmitter createEmitter(UUID userId) {
         SseEmitter emitter = new SseEmitter(Long.MAX_VALUE);
-        
-        sseEmitters.put(userId, emitter);
-        
-        emitter.onCompletion(() -> sseEmitters.remove(userId));
-        emitter.onTimeout(() -> sseEmitters.remove(userId));
-        emitter.onError((e) -> sseEmitters.remove(userId));
-        
-        try {
-            emitter.send(SseEmitter.event()
-                .name("connect")
-                .data("Connected to notification stream"));
-        } catch (Exception e) {
-            sseEmitters.remove(userId);
-        }
-        
+        SseConnection connection = new SseConnection(userId, emitter, queueCapacity);
+
+        connections.compute(userId, (id, userConnections) -> {
+            Set<SseConnection> updated = userConnections != null ? userConnections : ConcurrentHashMap.newKeySet();
+            updated.add(connection);
+            return updated;
+        });
+        connectionCount.incrementAndGet();
+
+        emitter.onCompletion(() -> unregister(connection));
+        emitter.onTimeout(() -> unregister(connection));
+        emitter.onError((e) -> unregister(connection));
+
+        enqueue(connection, SseEmitter.event()
+            .name("connect")
+            .data("Connected to notification stream"));
+
         return emitter;
     }
-    
+
+    /**
+     * Queues the notification for every open stream of the user. Never blocks on a client.
+     */
     public void notifyUser(UUID userId, Notification notification) {
-        SseEmitter emitter = sseEmitters.get(userId);
-        if (emitter != null) {
-            try {
-                emitter.send(SseEmitter.event()
-                    .name("notification")
-                    .data(notification));
-            } catch (Exception e) {
-                sseEmitters.remove(userId);
-            }
+        Set<SseConnection> userConnections = connections.get(userId);
+        if (userConnections == null) {
+            return;
+        }
+        for (SseConnection connection : userConnections) {
+            enqueue(connection, SseEmitter.event()
+                .name("notification")
+                .data(notification));
         }
     }
-    
+
+    /**
+     * Keeps idle streams alive through proxies and detects clients that went away.
+     */
+    @Scheduled(fixedRateString = "${notification.sse.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        connections.values().forEach(userConnections ->
+            userConnections.forEach(connection -> enqueue(connection, SseEmitter.event().comment("ping"))));
+    }
+
+    /**
+     * Drops clients whose socket has blocked a send for longer than the send timeout. The
+     * blocked writer is replaced until the container fails or completes that write.
+     */
+    @Scheduled(fixedRateString = "${notification.sse.stall-check-ms:1000}")
+    public void dropStalledClients() {
+        long now = System.nanoTime();
+        connections.values().forEach(userConnections -> userConnections.forEach(connection -> {
+            if (!connection.markStalled(now, sendTimeoutNanos)) {
+                return;
+            }
+            log.warn("Dropping SSE client for user {}, a send is blocked", connection.getUserId());
+            resizeWriters(1);
+            if (unregister(connection)) {
+                droppedStalledClients.increment();
+            }
+        }));
+    }
+
     public void removeEmitter(UUID userId) {
-        sseEmitters.remove(userId);
+        Set<SseConnection> userConnections = connections.remove(userId);
+        if (userConnections != null) {
+            userConnections.forEach(connection -> connection.getEmitter().complete());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdownNow();
+    }
+
+    private void enqueue(SseConnection connection, SseEmitter.SseEventBuilder event) {
+        if (connection.isClosed()) {
+            return;
+        }
+        if (!connection.offer(event)) {
+            log.warn("Dropping slow SSE client for user {}", connection.getUserId());
+            if (unregister(connection)) {
+                droppedSlowClients.increment();
+            }
+            connection.getEmitter().complete();
+            return;
+        }
+        scheduleDrain(connection);
+    }
+
+    private void scheduleDrain(SseConnection connection) {
+        if (!connection.startDraining()) {
+            return;
+        }
+        try {
+            writers.execute(() -> drain(connection));
+        } catch (RejectedExecutionException e) {
+            if (unregister(connection)) {
+                rejectedSends.increment();
+            }
+        }
+    }
+
+    private void drain(SseConnection connection) {
+        try {
+            if (connection.drain(() -> resizeWriters(-1))) {
+                scheduleDrain(connection);
+            } else if (connection.isClosed()) {
+                // A stalled send returned after the client was dropped
+                connection.getEmitter().complete();
+            }
+        } catch (Exception e) {
+            log.debug("SSE client for user {} disconnected: {}", connection.getUserId(), e.getMessage());
+            if (unregister(connection)) {
+                droppedBrokenClients.increment();
+            }
+            connection.getEmitter().completeWithError(e);
+        }
+    }
+
+    private synchronized void resizeWriters(int delta) {
+        int size = writers.getCorePoolSize() + delta;
+        if (delta > 0) {
+            writers.setMaximumPoolSize(size);
+            writers.setCorePoolSize(size);
+        } else {
+            writers.setCorePoolSize(size);
+            writers.setMaximumPoolSize(size);
+        }
+    }
+
+    private boolean unregister(SseConnection connection) {
+        if (!connection.close()) {
+            return false;
+        }
+        connectionCount.decrementAndGet();
+        connections.computeIfPresent(connection.getUserId(), (id, userConnections) -> {
+            userConnections.remove(connection);
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+        return true;
     }
-}
\ No newline at end of file
+}
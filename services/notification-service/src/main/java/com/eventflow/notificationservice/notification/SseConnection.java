@@ -0,0 +1,107 @@
+package com.eventflow.notificationservice.notification;
+
+import lombok.Getter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One open SSE stream. Events are buffered in a bounded queue and written by at most one
+ * writer thread at a time, so callers never block on the client's socket. The send in
+ * flight is tracked so a writer stuck on a client that stopped reading can be detected.
+ */
+@Getter
+class SseConnection {
+
+    private static final int IDLE = 0;
+    private static final int SENDING = 1;
+    private static final int STALLED = 2;
+
+    private final UUID userId;
+    private final SseEmitter emitter;
+    private final BlockingQueue<SseEmitter.SseEventBuilder> outbound;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicInteger sendState = new AtomicInteger(IDLE);
+    private volatile long sendStartedNanos;
+
+    SseConnection(UUID userId, SseEmitter emitter, int queueCapacity) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.outbound = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Returns false when the queue is full, i.e. the client is not keeping up.
+     */
+    boolean offer(SseEmitter.SseEventBuilder event) {
+        return outbound.offer(event);
+    }
+
+    /**
+     * Claims the writer role. Only the caller that gets true may call {@link #drain()}.
+     */
+    boolean startDraining() {
+        return !closed.get() && draining.compareAndSet(false, true);
+    }
+
+    /**
+     * Writes everything queued so far and releases the writer role.
+     * Returns true when new events arrived meanwhile and another drain is needed.
+     *
+     * @param onStallEnded run when a send that {@link #markStalled} flagged finally returns
+     */
+    boolean drain(Runnable onStallEnded) throws IOException {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (!closed.get() && (event = outbound.poll()) != null) {
+                send(event, onStallEnded);
+            }
+        } finally {
+            draining.set(false);
+        }
+        return !closed.get() && !outbound.isEmpty();
+    }
+
+    private void send(SseEmitter.SseEventBuilder event, Runnable onStallEnded) throws IOException {
+        sendStartedNanos = System.nanoTime();
+        sendState.set(SENDING);
+        try {
+            emitter.send(event);
+        } finally {
+            if (!sendState.compareAndSet(SENDING, IDLE)) {
+                sendState.set(IDLE);
+                onStallEnded.run();
+            }
+        }
+    }
+
+    /**
+     * Returns true once per send that has been blocked for longer than the timeout.
+     */
+    boolean markStalled(long nowNanos, long timeoutNanos) {
+        return sendState.get() == SENDING
+                && nowNanos - sendStartedNanos > timeoutNanos
+                && sendState.compareAndSet(SENDING, STALLED);
+    }
+
+    /**
+     * Returns true only for the first call, so callers can count and log each close once.
+     */
+    boolean close() {
+        if (!closed.compareAndSet(false, true)) {
+            return false;
+        }
+        outbound.clear();
+        return true;
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+}
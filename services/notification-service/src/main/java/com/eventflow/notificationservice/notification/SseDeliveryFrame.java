@@ -0,0 +1,9 @@
+package com.eventflow.notificationservice.notification;
+
+import java.util.List;
+
+/**
+ * Notifications broadcast to every notification-service replica for local SSE delivery.
+ */
+public record SseDeliveryFrame(List<Notification> notifications) {
+}
@@ -20,6 +20,7 @@ import java.util.List;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final InternalAssertionVerifier assertionVerifier;
 
     @Override
     protected void doFilterInternal(
@@ -28,35 +29,39 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             FilterChain filterChain
     ) throws ServletException, IOException {
         
+        if (SecurityContextHolder.getContext().getAuthentication() == null
+                && assertionVerifier.isTrusted(request)) {
+            // The gateway already verified the JWT and signed the identity headers
+            authenticate(request, request.getHeader("X-Username"));
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String username;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
-        
-        try {
-            username = jwtTokenProvider.extractUsername(jwt);
-
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                if (jwtTokenProvider.validateToken(jwt)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            username,
-                            null,
-                            List.of(new SimpleGrantedAuthority("ROLE_USER"))
-                    );
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
-            }
-        } catch (Exception e) {
-            // Invalid token
+        // Invalid or expired tokens yield no principal
+        JwtPrincipal principal = jwtTokenProvider.parsePrincipal(authHeader.substring(7));
+
+        if (principal != null && principal.username() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            authenticate(request, principal.username());
         }
         
         filterChain.doFilter(request, response);
     }
+
+    private void authenticate(HttpServletRequest request, String username) {
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                username,
+                null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER"))
+        );
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
 }
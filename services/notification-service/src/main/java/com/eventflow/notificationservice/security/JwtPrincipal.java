@@ -0,0 +1,13 @@
+package com.eventflow.notificationservice.security;
+
+import java.util.Date;
+
+/**
+ * Immutable snapshot of a verified, unexpired JWT, produced by one parse of the token.
+ */
+public record JwtPrincipal(String username, String userId, String role, String email, Date expiration) {
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
@@ -0,0 +1,19 @@
+-- Outgoing emails, written by the message listener and sent by the background dispatcher
+CREATE TABLE email_deliveries (
+    id UUID PRIMARY KEY,
+    delivery_key VARCHAR(255) NOT NULL,
+    recipient VARCHAR(320) NOT NULL,
+    subject VARCHAR(500) NOT NULL,
+    body TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    claimed_at TIMESTAMP,
+    sent_at TIMESTAMP,
+    last_error TEXT,
+    created_at TIMESTAMP NOT NULL
+);
+
+-- One email per message and recipient, so a redelivered message does not send twice
+CREATE UNIQUE INDEX idx_email_deliveries_delivery_key ON email_deliveries(delivery_key);
+CREATE INDEX idx_email_deliveries_pending ON email_deliveries(next_attempt_at) WHERE status = 'PENDING';
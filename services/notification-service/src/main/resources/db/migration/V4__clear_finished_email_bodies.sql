@@ -0,0 +1,2 @@
+-- Bodies of sent and failed emails hold invitation tokens and are never read again
+UPDATE email_deliveries SET body = '' WHERE status IN ('SENT', 'FAILED');
@@ -14,6 +14,11 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 @Service
 @RequiredArgsConstructor
 @SuppressWarnings({"NullableProblems", "DataFlowIssue"})
@@ -76,6 +81,17 @@ public class AuthService {
     public boolean emailExists(String email) {
         return userRepository.existsByEncryptedEmail(email);
     }
+
+    /**
+     * Answers for every given email with one query.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Boolean> emailsExist(List<String> emails) {
+        Set<String> existing = emails.isEmpty() ? Set.of() : userRepository.findExistingEmails(emails);
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        emails.forEach(email -> result.put(email, existing.contains(email)));
+        return result;
+    }
 }
 
 
@@ -0,0 +1,32 @@
+package com.eventflow.userservice.auth;
+
+import com.eventflow.userservice.dto.EmailCheckRequest;
+import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Lookups for the other services. They are kept off /api so the gateway never routes them:
+ * answering for up to 1000 addresses per request would make a public account-enumeration oracle.
+ */
+@Hidden
+@RestController
+@RequestMapping("/internal/auth")
+@RequiredArgsConstructor
+@SuppressWarnings("SpringJavaInjectionPointsAutowiringInspection")
+public class InternalAuthController {
+
+    private final AuthService authService;
+
+    @PostMapping("/check-emails")
+    public ResponseEntity<Map<String, Boolean>> checkEmailsExist(@Valid @RequestBody EmailCheckRequest request) {
+        return ResponseEntity.ok(authService.emailsExist(request.getEmails()));
+    }
+}
@@ -0,0 +1,20 @@
+package com.eventflow.userservice.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailCheckRequest {
+
+    @NotNull(message = "Emails are required")
+    @Size(max = 1000, message = "At most 1000 emails can be checked at once")
+    private List<@NotBlank(message = "Email is required") String> emails;
+}
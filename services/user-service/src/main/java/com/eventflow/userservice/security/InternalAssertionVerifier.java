@@ -0,0 +1,101 @@
+package com.eventflow.userservice.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Checks the assertion the gateway signs over the identity headers it injects.
+ * When it is valid, the headers can be trusted without verifying the JWT again.
+ * <p>
+ * Copied in every service, see "Copied classes" in the README. Keep it in step with
+ * {@code com.eventflow.eventservice.security.InternalAssertionVerifier},
+ * {@code com.eventflow.notificationservice.security.InternalAssertionVerifier} and the gateway's
+ * {@code InternalAssertionSigner}, which defines the format.
+ */
+@Component
+public class InternalAssertionVerifier {
+
+    public static final String HEADER = "X-Internal-Assertion";
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final boolean enabled;
+    private final long maxAgeMillis;
+    private final ThreadLocal<Mac> mac;
+
+    public InternalAssertionVerifier(
+            @Value("${internal.assertion.enabled:false}") boolean enabled,
+            @Value("${internal.assertion.secret:}") String secret,
+            @Value("${internal.assertion.max-age-ms:30000}") long maxAgeMillis
+    ) {
+        if (enabled && secret.isBlank()) {
+            throw new IllegalStateException("internal.assertion.secret must be set when internal assertions are enabled");
+        }
+        this.enabled = enabled;
+        this.maxAgeMillis = maxAgeMillis;
+        SecretKeySpec key = enabled ? new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM) : null;
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(ALGORITHM);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Cannot initialise " + ALGORITHM, e);
+            }
+        });
+    }
+
+    /**
+     * Returns true when the request carries a fresh assertion matching its identity headers.
+     */
+    public boolean isTrusted(HttpServletRequest request) {
+        if (!enabled) {
+            return false;
+        }
+        String assertion = request.getHeader(HEADER);
+        if (assertion == null) {
+            return false;
+        }
+        int separator = assertion.indexOf('.');
+        if (separator <= 0) {
+            return false;
+        }
+
+        String timestamp = assertion.substring(0, separator);
+        try {
+            long age = System.currentTimeMillis() - Long.parseLong(timestamp);
+            if (age < -maxAgeMillis || age > maxAgeMillis) {
+                return false;
+            }
+        } catch (NumberFormatException e) {
+            return false;
+        }
+
+        String canonical = String.join("\n",
+                headerOrEmpty(request, "X-User-Id"),
+                headerOrEmpty(request, "X-Username"),
+                headerOrEmpty(request, "X-User-Role"),
+                headerOrEmpty(request, "X-User-Email"),
+                timestamp);
+        byte[] expected = mac.get().doFinal(canonical.getBytes(StandardCharsets.UTF_8));
+        byte[] actual;
+        try {
+            actual = Base64.getUrlDecoder().decode(assertion.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    private static String headerOrEmpty(HttpServletRequest request, String name) {
+        String value = request.getHeader(name);
+        return value != null ? value : "";
+    }
+}
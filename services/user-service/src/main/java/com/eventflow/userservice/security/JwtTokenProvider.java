@@ -1,56 +1,69 @@
 package com.eventflow.userservice.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
 
 @Component
 public class JwtTokenProvider {
 
-    @Value("${jwt.secret}")
-    private String secret;
-
-    @Value("${jwt.expiration:86400000}")
-    private Long expiration;
-
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
-
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
+    private final JwtPrincipalCache principalCache;
+    private final JwtParser parser;
+    private final String secret;
+    private final long expiration;
+
+    public JwtTokenProvider(
+            JwtPrincipalCache principalCache,
+            @Value("${jwt.secret}") String secret,
+            @Value("${jwt.expiration:86400000}") long expiration
+    ) {
+        this.principalCache = principalCache;
+        this.secret = secret;
+        this.expiration = expiration;
+        this.parser = Jwts.parser()
                 .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)))
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+                .build();
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    /**
+     * Verifies the token once and returns an immutable snapshot of its claims, or null when
+     * the token is invalid or expired. Repeated calls with the same token hit the cache.
+     */
+    public JwtPrincipal parsePrincipal(String token) {
+        JwtPrincipal cached = principalCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+
+        JwtPrincipal principal = new JwtPrincipal(
+                claims.getSubject(),
+                claims.get("userId", String.class),
+                claims.get("role", String.class),
+                claims.get("email", String.class),
+                claims.getExpiration()
+        );
+        if (principal.isExpired()) {
+            return null;
+        }
+        principalCache.put(token, principal);
+        return principal;
     }
 
     public String generateToken(String username, String role, String userId, String email) {
@@ -77,4 +90,3 @@ public class JwtTokenProvider {
     }
 }
 
-
@@ -2,9 +2,12 @@ package com.eventflow.userservice.user;
 
 import com.eventflow.userservice.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
@@ -17,6 +20,9 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     boolean existsByUsername(String username);
     
     boolean existsByEncryptedEmail(String email);
+    
+    @Query("SELECT u.encryptedEmail FROM User u WHERE u.encryptedEmail IN :emails")
+    Set<String> findExistingEmails(Collection<String> emails);
 }
 
 
@@ -0,0 +1,2 @@
+-- Email existence checks from event-service look users up by email
+CREATE INDEX idx_users_encrypted_email ON users(encrypted_email);